@@ -64,7 +64,8 @@ class ConfigurationCacheIO internal constructor(
     private val scopeRegistryListener: ConfigurationCacheClassLoaderScopeRegistryListener,
     private val beanStateReaderLookup: BeanStateReaderLookup,
     private val beanStateWriterLookup: BeanStateWriterLookup,
-    private val eventEmitter: BuildOperationProgressEventEmitter
+    private val eventEmitter: BuildOperationProgressEventEmitter,
+    private val pipelinedStateIOExecutor: PipelinedStateIOExecutor
 ) {
     private
     val codecs = codecs()
@@ -184,7 +185,7 @@ class ConfigurationCacheIO internal constructor(
         stateFile: ConfigurationCacheStateFile,
         action: suspend DefaultReadContext.(ConfigurationCacheState) -> T
     ): T {
-        return withReadContextFor(encryptionService.inputStream(stateFile.stateType, stateFile::inputStream)) { codecs ->
+        return withReadContextFor(stateInputStreamFor(stateFile)) { codecs ->
             ConfigurationCacheState(codecs, stateFile, eventEmitter, host).run {
                 action(this)
             }
@@ -196,7 +197,7 @@ class ConfigurationCacheIO internal constructor(
         stateFile: ConfigurationCacheStateFile,
         action: suspend DefaultWriteContext.(ConfigurationCacheState) -> T
     ): T {
-        val (context, codecs) = writerContextFor(encryptionService.outputStream(stateFile.stateType, stateFile::outputStream)) {
+        val (context, codecs) = writerContextFor(stateOutputStreamFor(stateFile)) {
             host.currentBuild.gradle.owner.displayName.displayName + " state"
         }
         return context.useToRun {
@@ -206,6 +207,24 @@ class ConfigurationCacheIO internal constructor(
         }
     }
 
+    /**
+     * Decrypts and reads the state file on a separate thread when pipelined I/O is enabled,
+     * so that decoding the state doesn't compete with decryption and disk access for the same core.
+     */
+    private
+    fun stateInputStreamFor(stateFile: ConfigurationCacheStateFile): InputStream {
+        val inputStream = encryptionService.inputStream(stateFile.stateType, stateFile::inputStream)
+        val executor = pipelinedStateIOExecutor.executor ?: return inputStream
+        return ReadAheadInputStream(inputStream, executor)
+    }
+
+    private
+    fun stateOutputStreamFor(stateFile: ConfigurationCacheStateFile): OutputStream {
+        val outputStream = encryptionService.outputStream(stateFile.stateType, stateFile::outputStream)
+        val executor = pipelinedStateIOExecutor.executor ?: return outputStream
+        return WriteBehindOutputStream(outputStream, executor)
+    }
+
     internal
     fun writeModelTo(model: Any, stateFile: ConfigurationCacheStateFile) {
         writeConfigurationCacheState(stateFile) {
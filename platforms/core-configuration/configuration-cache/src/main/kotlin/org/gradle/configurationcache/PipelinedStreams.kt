@@ -0,0 +1,385 @@
+/*
+ * Copyright 2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.gradle.configurationcache
+
+import org.gradle.configurationcache.initialization.ConfigurationCacheStartParameter
+import org.gradle.internal.concurrent.ExecutorFactory
+import org.gradle.internal.concurrent.ManagedExecutor
+import org.gradle.internal.concurrent.Stoppable
+import org.gradle.internal.service.scopes.Scopes
+import org.gradle.internal.service.scopes.ServiceScope
+import java.io.IOException
+import java.io.InputStream
+import java.io.InterruptedIOException
+import java.io.OutputStream
+import java.util.concurrent.ArrayBlockingQueue
+import java.util.concurrent.BlockingQueue
+import java.util.concurrent.CountDownLatch
+import java.util.concurrent.ExecutionException
+import java.util.concurrent.ExecutorService
+import java.util.concurrent.Future
+import java.util.concurrent.TimeUnit
+
+
+internal
+const val DEFAULT_PIPELINE_CHUNK_SIZE = 64 * 1024
+
+
+internal
+const val DEFAULT_PIPELINE_CHUNKS = 8
+
+
+/**
+ * Provides the threads that read and write configuration cache state files when pipelined I/O is enabled.
+ *
+ * Each pipelined stream occupies a thread for as long as it is open, so the executor is not bounded.
+ * Threads are reused across state files and stopped with the build tree.
+ */
+@ServiceScope(Scopes.BuildTree::class)
+internal
+class PipelinedStateIOExecutor(
+    startParameter: ConfigurationCacheStartParameter,
+    executorFactory: ExecutorFactory
+) : Stoppable {
+
+    /**
+     * The executor to run pipelined stream transfers on, or `null` when pipelined I/O is disabled.
+     */
+    val executor: ManagedExecutor? =
+        if (startParameter.isPipelinedStateIO) executorFactory.create("Configuration cache state I/O")
+        else null
+
+    override fun stop() {
+        executor?.stop()
+    }
+}
+
+
+/**
+ * An [InputStream] that reads ahead from the given [source] on a thread of the given [executor].
+ *
+ * Used to move decryption and file I/O of a configuration cache state file off the thread
+ * that decodes the state, so both can progress on different cores.
+ */
+internal
+class ReadAheadInputStream(
+    private val source: InputStream,
+    executor: ExecutorService,
+    private val chunkSize: Int = DEFAULT_PIPELINE_CHUNK_SIZE,
+    maxChunks: Int = DEFAULT_PIPELINE_CHUNKS
+) : InputStream() {
+
+    private
+    val chunks: BlockingQueue<Chunk> = ArrayBlockingQueue(maxChunks)
+
+    @Volatile
+    private
+    var closed = false
+
+    private
+    var current: Chunk = Chunk.EMPTY
+
+    private
+    var position = 0
+
+    private
+    var finished = false
+
+    private
+    val reader: Future<*> = executor.submit {
+        readChunks()
+    }
+
+    override fun read(): Int {
+        if (!ensureAvailable()) {
+            return -1
+        }
+        return current.bytes[position++].toInt() and 0xff
+    }
+
+    override fun read(b: ByteArray, off: Int, len: Int): Int {
+        if (len == 0) {
+            return 0
+        }
+        if (!ensureAvailable()) {
+            return -1
+        }
+        val count = minOf(len, current.length - position)
+        System.arraycopy(current.bytes, position, b, off, count)
+        position += count
+        return count
+    }
+
+    override fun available(): Int =
+        if (finished) 0 else current.length - position
+
+    override fun close() {
+        if (closed) {
+            return
+        }
+        closed = true
+        // Unblock the reader if it is waiting for space in the queue, it stops reading once it sees the stream closed
+        chunks.clear()
+        try {
+            reader.get()
+        } catch (e: InterruptedException) {
+            Thread.currentThread().interrupt()
+            reader.cancel(true)
+        } catch (e: ExecutionException) {
+            // Failures are reported to the consumer through the queue
+        } finally {
+            source.close()
+        }
+    }
+
+    private
+    fun ensureAvailable(): Boolean {
+        if (closed) {
+            throw IOException("Stream closed.")
+        }
+        while (!finished && position == current.length) {
+            val next = try {
+                chunks.take()
+            } catch (e: InterruptedException) {
+                Thread.currentThread().interrupt()
+                throw InterruptedIOException()
+            }
+            next.failure?.let {
+                finished = true
+                throw IOException("Could not read configuration cache state.", it)
+            }
+            if (next === Chunk.END) {
+                finished = true
+            } else {
+                current = next
+                position = 0
+            }
+        }
+        return !finished
+    }
+
+    private
+    fun readChunks() {
+        try {
+            while (!closed) {
+                val bytes = ByteArray(chunkSize)
+                val length = readFully(bytes)
+                if (length > 0) {
+                    chunks.put(Chunk(bytes, length))
+                }
+                if (length < chunkSize) {
+                    chunks.put(Chunk.END)
+                    return
+                }
+            }
+        } catch (e: InterruptedException) {
+            // Cancelled by the consumer
+        } catch (e: Throwable) {
+            if (!closed) {
+                chunks.offerFailure(e)
+            }
+        }
+    }
+
+    private
+    fun readFully(bytes: ByteArray): Int {
+        var length = 0
+        while (length < bytes.size) {
+            val read = source.read(bytes, length, bytes.size - length)
+            if (read < 0) {
+                break
+            }
+            length += read
+        }
+        return length
+    }
+
+    private
+    fun BlockingQueue<Chunk>.offerFailure(failure: Throwable) {
+        try {
+            put(Chunk(ByteArray(0), 0, failure))
+        } catch (e: InterruptedException) {
+            // Closed by the consumer
+        }
+    }
+}
+
+
+/**
+ * An [OutputStream] that writes to the given [sink] on a thread of the given [executor].
+ *
+ * Used to move encryption and file I/O of a configuration cache state file off the thread
+ * that encodes the state. Failures of the writer are reported by the next call on this stream.
+ * [flush] waits for the writer to write the bytes handed off so far and to flush the [sink].
+ */
+internal
+class WriteBehindOutputStream(
+    private val sink: OutputStream,
+    executor: ExecutorService,
+    private val chunkSize: Int = DEFAULT_PIPELINE_CHUNK_SIZE,
+    maxChunks: Int = DEFAULT_PIPELINE_CHUNKS
+) : OutputStream() {
+
+    private
+    val chunks: BlockingQueue<Chunk> = ArrayBlockingQueue(maxChunks)
+
+    @Volatile
+    private
+    var failure: Throwable? = null
+
+    private
+    var closed = false
+
+    private
+    var buffer = ByteArray(chunkSize)
+
+    private
+    var position = 0
+
+    private
+    val writer: Future<*> = executor.submit {
+        writeChunks()
+    }
+
+    override fun write(b: Int) {
+        ensureOpen()
+        if (position == buffer.size) {
+            handOff()
+        }
+        buffer[position++] = b.toByte()
+    }
+
+    override fun write(b: ByteArray, off: Int, len: Int) {
+        ensureOpen()
+        var offset = off
+        var remaining = len
+        while (remaining > 0) {
+            if (position == buffer.size) {
+                handOff()
+            }
+            val count = minOf(remaining, buffer.size - position)
+            System.arraycopy(b, offset, buffer, position, count)
+            position += count
+            offset += count
+            remaining -= count
+        }
+    }
+
+    override fun flush() {
+        ensureOpen()
+        if (position > 0) {
+            handOff()
+        }
+        val flushed = CountDownLatch(1)
+        put(Chunk(ByteArray(0), 0, flushed = flushed))
+        while (!flushed.await(100, TimeUnit.MILLISECONDS)) {
+            // The writer stops consuming after a failure
+            rethrowFailure()
+        }
+        rethrowFailure()
+    }
+
+    override fun close() {
+        if (closed) {
+            return
+        }
+        try {
+            if (position > 0 && failure == null) {
+                handOff()
+            }
+            put(Chunk.END)
+            writer.get()
+        } catch (e: InterruptedException) {
+            Thread.currentThread().interrupt()
+            writer.cancel(true)
+            throw InterruptedIOException()
+        } catch (e: ExecutionException) {
+            // Failures are recorded by the writer and reported below
+        } finally {
+            closed = true
+            sink.close()
+        }
+        rethrowFailure()
+    }
+
+    private
+    fun ensureOpen() {
+        if (closed) {
+            throw IOException("Stream closed.")
+        }
+        rethrowFailure()
+    }
+
+    private
+    fun rethrowFailure() {
+        failure?.let {
+            throw IOException("Could not write configuration cache state.", it)
+        }
+    }
+
+    private
+    fun handOff() {
+        put(Chunk(buffer, position))
+        buffer = ByteArray(chunkSize)
+        position = 0
+    }
+
+    private
+    fun put(chunk: Chunk) {
+        while (!chunks.offer(chunk, 100, TimeUnit.MILLISECONDS)) {
+            // The writer stops consuming after a failure
+            rethrowFailure()
+        }
+    }
+
+    private
+    fun writeChunks() {
+        try {
+            while (true) {
+                val chunk = chunks.take()
+                if (chunk === Chunk.END) {
+                    sink.flush()
+                    return
+                }
+                if (chunk.flushed != null) {
+                    sink.flush()
+                    chunk.flushed.countDown()
+                    continue
+                }
+                sink.write(chunk.bytes, 0, chunk.length)
+            }
+        } catch (e: InterruptedException) {
+            failure = InterruptedIOException()
+        } catch (e: Throwable) {
+            failure = e
+        }
+    }
+}
+
+
+private
+class Chunk(
+    val bytes: ByteArray,
+    val length: Int,
+    val failure: Throwable? = null,
+    val flushed: CountDownLatch? = null
+) {
+    companion object {
+        val EMPTY = Chunk(ByteArray(0), 0)
+        val END = Chunk(ByteArray(0), 0)
+    }
+}
@@ -48,6 +48,12 @@ class ConfigurationCacheStartParameter(
 
     val encryptionRequested: Boolean = options.getInternalFlag("org.gradle.configuration-cache.internal.encryption", true)
 
+    /**
+     * Whether state files are encrypted and written or read on a separate thread from the one encoding or decoding the state.
+     * Disabled by default.
+     */
+    val isPipelinedStateIO: Boolean = options.getInternalFlag("org.gradle.configuration-cache.internal.pipelined-io", false)
+
     val keystoreDir: String? = options.getInternalString("org.gradle.configuration-cache.internal.key-store-dir", null)
 
     val encryptionAlgorithm: String = options.getInternalString("org.gradle.configuration-cache.internal.encryption-alg", SupportedEncryptionAlgorithm.AES_ECB_PADDING.transformation)
@@ -99,20 +99,22 @@ class WorkNodeCodec(
     suspend fun ReadContext.doRead(): ScheduledWork {
         val nodeCount = readSmallInt()
         val nodes = ArrayList<Node>(nodeCount)
-        val nodesById = HashMap<Int, Node>(nodeCount)
+        // Node ids are assigned densely in the order nodes are written, so they can be used as indices
+        // instead of boxed map keys. Large graphs have several successor references per node.
+        val nodesById = ArrayList<Node>(nodeCount)
         for (i in 0 until nodeCount) {
             val node = readNode()
-            nodesById[nodesById.size] = node
+            nodesById.add(node)
             if (node is LocalTaskNode) {
                 node.prepareNode.require()
-                nodesById[nodesById.size] = node.prepareNode
+                nodesById.add(node.prepareNode)
             }
             nodes.add(node)
         }
         // Note that using the ImmutableSet retains the original ordering of entry nodes.
         val entryNodes = ImmutableSet.builder<Node>()
         readCollection {
-            entryNodes.add(nodesById.getValue(readSmallInt()))
+            entryNodes.add(nodesById.nodeWithId(readSmallInt()))
         }
         nodes.forEach { node ->
             readSuccessorReferencesOf(node, nodesById)
@@ -163,7 +165,7 @@ class WorkNodeCodec(
     }
 
     private
-    fun ReadContext.readNodeGroup(nodesById: Map<Int, Node>): NodeGroup {
+    fun ReadContext.readNodeGroup(nodesById: List<Node>): NodeGroup {
         return decodePreservingIdentity { id ->
             when (readSmallInt()) {
                 0 -> {
@@ -172,7 +174,7 @@ class WorkNodeCodec(
                 }
 
                 1 -> {
-                    val finalizerNode = nodesById.getValue(readSmallInt()) as TaskNode
+                    val finalizerNode = nodesById.nodeWithId(readSmallInt()) as TaskNode
                     val delegate = readNodeGroup(nodesById)
                     FinalizerGroup(finalizerNode, delegate)
                 }
@@ -219,7 +221,7 @@ class WorkNodeCodec(
     }
 
     private
-    fun ReadContext.readSuccessorReferencesOf(node: Node, nodesById: Map<Int, Node>) {
+    fun ReadContext.readSuccessorReferencesOf(node: Node, nodesById: List<Node>) {
         readSuccessorReferences(nodesById) {
             node.addDependencySuccessor(it)
         }
@@ -261,12 +263,20 @@ class WorkNodeCodec(
     }
 
     private
-    fun ReadContext.readSuccessorReferences(nodesById: Map<Int, Node>, onSuccessor: (Node) -> Unit) {
+    fun ReadContext.readSuccessorReferences(nodesById: List<Node>, onSuccessor: (Node) -> Unit) {
         while (true) {
             val successorId = readSmallInt()
             if (successorId == -1) break
-            val successor = nodesById.getValue(successorId)
+            val successor = nodesById.nodeWithId(successorId)
             onSuccessor(successor)
         }
     }
+
+    private
+    fun List<Node>.nodeWithId(id: Int): Node {
+        require(id in indices) {
+            "Unknown node id $id, expecting one of 0..${size - 1}."
+        }
+        return this[id]
+    }
 }
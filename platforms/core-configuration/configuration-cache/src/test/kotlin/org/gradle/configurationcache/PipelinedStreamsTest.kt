@@ -0,0 +1,159 @@
+/*
+ * Copyright 2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.gradle.configurationcache
+
+import org.hamcrest.CoreMatchers.equalTo
+import org.hamcrest.CoreMatchers.sameInstance
+import org.hamcrest.MatcherAssert.assertThat
+import org.junit.After
+import org.junit.Assert.assertArrayEquals
+import org.junit.Assert.fail
+import org.junit.Test
+import java.io.ByteArrayInputStream
+import java.io.ByteArrayOutputStream
+import java.io.IOException
+import java.io.InputStream
+import java.io.OutputStream
+import java.util.concurrent.Executors
+import kotlin.random.Random
+
+
+class PipelinedStreamsTest {
+
+    private
+    val executor = Executors.newCachedThreadPool()
+
+    @After
+    fun stopExecutor() {
+        executor.shutdownNow()
+    }
+
+    @Test
+    fun `read ahead stream yields the bytes of the source`() {
+        for (size in listOf(0, 1, 15, 16, 17, 1000)) {
+            val bytes = Random(size).nextBytes(size)
+
+            val read = ReadAheadInputStream(ByteArrayInputStream(bytes), executor, chunkSize = 16, maxChunks = 2).use {
+                it.readBytes()
+            }
+
+            assertArrayEquals(bytes, read)
+        }
+    }
+
+    @Test
+    fun `read ahead stream supports single byte reads`() {
+        val bytes = Random(42).nextBytes(100)
+
+        val read = ReadAheadInputStream(ByteArrayInputStream(bytes), executor, chunkSize = 7, maxChunks = 1).use { stream ->
+            generateSequence { stream.read().takeIf { it >= 0 } }.map { it.toByte() }.toList().toByteArray()
+        }
+
+        assertArrayEquals(bytes, read)
+    }
+
+    @Test
+    fun `read ahead stream reports failure of the source`() {
+        val failure = IOException("broken")
+        val source = object : InputStream() {
+            override fun read(): Int = throw failure
+        }
+
+        ReadAheadInputStream(source, executor).use { stream ->
+            try {
+                stream.readBytes()
+                fail()
+            } catch (e: IOException) {
+                assertThat(e.cause, sameInstance<Throwable>(failure))
+            }
+        }
+    }
+
+    @Test
+    fun `read ahead stream can be closed before the source is exhausted`() {
+        var closed = false
+        val source = object : ByteArrayInputStream(ByteArray(1000)) {
+            override fun close() {
+                closed = true
+            }
+        }
+
+        ReadAheadInputStream(source, executor, chunkSize = 10, maxChunks = 1).use { stream ->
+            stream.read()
+        }
+
+        assertThat(closed, equalTo(true))
+    }
+
+    @Test
+    fun `write behind stream writes all bytes to the sink`() {
+        for (size in listOf(0, 1, 15, 16, 17, 1000)) {
+            val bytes = Random(size).nextBytes(size)
+            val sink = ByteArrayOutputStream()
+
+            WriteBehindOutputStream(sink, executor, chunkSize = 16, maxChunks = 2).use { stream ->
+                stream.write(bytes, 0, size / 2)
+                stream.flush()
+                for (i in size / 2 until size) {
+                    stream.write(bytes[i].toInt())
+                }
+            }
+
+            assertArrayEquals(bytes, sink.toByteArray())
+        }
+    }
+
+    @Test
+    fun `write behind stream flushes the sink on flush`() {
+        val bytes = Random(42).nextBytes(10)
+        val sink = object : ByteArrayOutputStream() {
+            var flushedBytes: ByteArray? = null
+            override fun flush() {
+                flushedBytes = toByteArray()
+            }
+        }
+
+        WriteBehindOutputStream(sink, executor, chunkSize = 16, maxChunks = 2).use { stream ->
+            stream.write(bytes)
+            stream.flush()
+
+            assertArrayEquals(bytes, sink.flushedBytes)
+        }
+    }
+
+    @Test
+    fun `write behind stream reports failure of the sink on close`() {
+        val failure = IOException("broken")
+        var closed = false
+        val sink = object : OutputStream() {
+            override fun write(b: Int) = throw failure
+            override fun close() {
+                closed = true
+            }
+        }
+
+        try {
+            WriteBehindOutputStream(sink, executor, chunkSize = 4, maxChunks = 1).use { stream ->
+                stream.write(ByteArray(2))
+            }
+            fail()
+        } catch (e: IOException) {
+            assertThat(e.cause, sameInstance<Throwable>(failure))
+        }
+        assertThat(closed, equalTo(true))
+    }
+}
@@ -0,0 +1,111 @@
+/*
+ * Copyright 2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.gradle.kotlin.dsl.accessors
+
+import org.gradle.api.reflect.TypeOf
+import org.gradle.cache.internal.CrossBuildInMemoryCache
+import org.gradle.cache.internal.CrossBuildInMemoryCacheFactory
+import org.gradle.kotlin.dsl.support.bytecode.InternalName
+import javax.inject.Inject
+
+
+/**
+ * Shares the classes and sources emitted for each accessor between projects and builds.
+ *
+ * Projects with similar schemas have most of their accessors in common, and the content of an accessor
+ * class only depends on the [Accessor] it is emitted for, so each distinct accessor is only emitted once.
+ */
+internal
+class AccessorClassCache @Inject constructor(
+    cacheFactory: CrossBuildInMemoryCacheFactory
+) {
+
+    private
+    val cache: CrossBuildInMemoryCache<Key, EmittedAccessorClass> = cacheFactory.newCache()
+
+    fun getOrEmit(key: Key, emit: () -> EmittedAccessorClass): EmittedAccessorClass =
+        cache.get(key) { emit() }
+
+    /**
+     * Identifies an accessor class by the textual form of its [Accessor], see [accessorKeyStringFor],
+     * so that entries do not retain the class loaders of the builds that emitted them.
+     */
+    data class Key(
+        val accessor: String,
+        val outputPackage: String,
+        val format: AccessorFormat,
+        val moduleName: String,
+        val withBytecode: Boolean
+    )
+}
+
+
+internal
+class EmittedAccessorClass(
+    val className: InternalName,
+    val bytecode: ByteArray?,
+    val source: ByteArray
+)
+
+
+/**
+ * Renders the accessor with the binary names of the types it refers to.
+ *
+ * The Kotlin source names of types are ambiguous, they do not tell a nested class `a.b.C$D` from a top-level class `a.b.C.D`.
+ */
+internal
+fun accessorKeyStringFor(accessor: Accessor): String = accessor.run {
+    when (this) {
+        is Accessor.ForConfiguration -> toString()
+        is Accessor.ForExtension -> "ForExtension(${keyStringFor(spec)})"
+        is Accessor.ForConvention -> "ForConvention(${keyStringFor(spec)})"
+        is Accessor.ForContainerElement -> "ForContainerElement(${keyStringFor(spec)})"
+        is Accessor.ForTask -> "ForTask(${keyStringFor(spec)})"
+    }
+}
+
+
+private
+fun keyStringFor(spec: TypedAccessorSpec): String = spec.run {
+    "${keyStringFor(receiver)}, ${name.original}, ${keyStringFor(type)}"
+}
+
+
+private
+fun keyStringFor(type: TypeAccessibility): String = when (type) {
+    is TypeAccessibility.Accessible -> binaryTypeStringFor(type.type.value)
+    is TypeAccessibility.Inaccessible -> "${binaryTypeStringFor(type.type.value)} ${type.reasons}"
+}
+
+
+private
+fun binaryTypeStringFor(type: TypeOf<*>): String = type.run {
+    when {
+        isArray ->
+            "${binaryTypeStringFor(componentType!!)}[]"
+        isParameterized ->
+            "${binaryTypeStringFor(parameterizedTypeDefinition)}<${actualTypeArguments.joinToString(transform = ::binaryTypeStringFor)}>"
+        isWildcard ->
+            upperBound?.let { "? extends ${binaryTypeStringFor(it)}" }
+                ?: lowerBound?.let { "? super ${binaryTypeStringFor(it)}" }
+                ?: "?"
+        isSimple ->
+            concreteClass.name
+        else ->
+            toString()
+    }
+}
@@ -48,7 +48,6 @@ import org.gradle.kotlin.dsl.internal.sharedruntime.codegen.kotlinDslPackageName
 import org.gradle.kotlin.dsl.internal.sharedruntime.codegen.primitiveKotlinTypeNames
 import org.gradle.kotlin.dsl.internal.sharedruntime.support.ClassBytesRepository
 import org.gradle.kotlin.dsl.internal.sharedruntime.support.appendReproducibleNewLine
-import org.gradle.kotlin.dsl.support.useToRun
 import org.jetbrains.kotlin.metadata.ProtoBuf
 import org.jetbrains.kotlin.metadata.ProtoBuf.Visibility
 import org.jetbrains.kotlin.metadata.deserialization.Flags
@@ -70,7 +69,8 @@ class ProjectAccessorsClassPathGenerator @Inject internal constructor(
     private val projectSchemaProvider: ProjectSchemaProvider,
     private val executionEngine: ExecutionEngine,
     private val inputFingerprinter: InputFingerprinter,
-    private val workspaceProvider: KotlinDslWorkspaceProvider
+    private val workspaceProvider: KotlinDslWorkspaceProvider,
+    private val accessorClassCache: AccessorClassCache
 ) {
 
     fun projectAccessorsClassPath(project: Project, classPath: ClassPath): AccessorsClassPath =
@@ -89,7 +89,8 @@ class ProjectAccessorsClassPathGenerator @Inject internal constructor(
                 classPath,
                 fileCollectionFactory,
                 inputFingerprinter,
-                workspaceProvider
+                workspaceProvider,
+                accessorClassCache
             )
             executionEngine.createRequest(work)
                 .execute()
@@ -116,7 +117,8 @@ class GenerateProjectAccessors(
     private val classPath: ClassPath,
     private val fileCollectionFactory: FileCollectionFactory,
     private val inputFingerprinter: InputFingerprinter,
-    private val workspaceProvider: KotlinDslWorkspaceProvider
+    private val workspaceProvider: KotlinDslWorkspaceProvider,
+    private val accessorClassCache: AccessorClassCache
 ) : ImmutableUnitOfWork {
 
     companion object {
@@ -133,7 +135,8 @@ class GenerateProjectAccessors(
                 projectSchema,
                 classPath,
                 srcDir = getSourcesOutputDir(workspace),
-                binDir = getClassesOutputDir(workspace)
+                binDir = getClassesOutputDir(workspace),
+                accessorClassCache = accessorClassCache
             )
         }
         return object : UnitOfWork.WorkOutput {
@@ -210,7 +213,8 @@ fun IO.buildAccessorsFor(
     srcDir: File,
     binDir: File?,
     packageName: String = kotlinDslPackageName,
-    format: AccessorFormat = AccessorFormats.default
+    format: AccessorFormat = AccessorFormats.default,
+    accessorClassCache: AccessorClassCache? = null
 ) {
     val availableSchema = availableProjectSchemaFor(projectSchema, classPath)
     emitAccessorsFor(
@@ -218,7 +222,8 @@ fun IO.buildAccessorsFor(
         srcDir,
         binDir,
         OutputPackage(packageName),
-        format
+        format,
+        accessorClassCache
     )
 }
 
@@ -585,25 +590,23 @@ fun Hasher.putAll(entries: List<ProjectSchemaEntry<SchemaType>>) {
 
 
 internal
-fun IO.writeAccessorsTo(
-    outputFile: File,
+fun accessorsSourceFor(
     accessors: Iterable<String>,
     imports: List<String> = emptyList(),
     packageName: String = kotlinDslPackageName
-) = io {
-    outputFile.bufferedWriter().useToRun {
-        appendReproducibleNewLine(fileHeaderWithImportsFor(packageName))
-        if (imports.isNotEmpty()) {
-            imports.forEach {
-                appendReproducibleNewLine("import $it")
-            }
-            appendReproducibleNewLine()
-        }
-        accessors.forEach {
-            appendReproducibleNewLine(it)
-            appendReproducibleNewLine()
+): String = StringBuilder().run {
+    appendReproducibleNewLine(fileHeaderWithImportsFor(packageName))
+    if (imports.isNotEmpty()) {
+        imports.forEach {
+            appendReproducibleNewLine("import $it")
         }
+        appendReproducibleNewLine()
+    }
+    accessors.forEach {
+        appendReproducibleNewLine(it)
+        appendReproducibleNewLine()
     }
+    toString()
 }
 
 
@@ -36,7 +36,8 @@ fun IO.emitAccessorsFor(
     srcDir: File,
     binDir: File?,
     outputPackage: OutputPackage,
-    format: AccessorFormat
+    format: AccessorFormat,
+    accessorClassCache: AccessorClassCache? = null
 ): List<InternalName> {
 
     makeAccessorOutputDirs(srcDir, binDir, outputPackage.path)
@@ -50,7 +51,8 @@ fun IO.emitAccessorsFor(
                 binDir,
                 outputPackage,
                 format,
-                moduleName
+                moduleName,
+                accessorClassCache
             )
         }.toList()
 
@@ -91,9 +93,39 @@ fun IO.emitClassFor(
     binDir: File?,
     outputPackage: OutputPackage,
     format: AccessorFormat,
-    moduleName: String
+    moduleName: String,
+    accessorClassCache: AccessorClassCache?
 ): InternalName {
 
+    val withBytecode = binDir != null
+    val emitted =
+        if (accessorClassCache != null) {
+            val key = AccessorClassCache.Key(accessorKeyStringFor(accessor), outputPackage.name, format, moduleName, withBytecode)
+            accessorClassCache.getOrEmit(key) {
+                emittedClassFor(accessor, outputPackage, format, moduleName, withBytecode)
+            }
+        } else {
+            emittedClassFor(accessor, outputPackage, format, moduleName, withBytecode)
+        }
+
+    if (binDir != null) {
+        writeFile(binDir.resolve("${emitted.className}.class"), emitted.bytecode!!)
+    }
+    writeFile(sourceFileFor(emitted.className, srcDir), emitted.source)
+
+    return emitted.className
+}
+
+
+private
+fun emittedClassFor(
+    accessor: Accessor,
+    outputPackage: OutputPackage,
+    format: AccessorFormat,
+    moduleName: String,
+    withBytecode: Boolean
+): EmittedAccessorClass {
+
     val (simpleClassName, fragments) = fragmentsFor(accessor)
     val className = InternalName("${outputPackage.path}/$simpleClassName")
     val sourceCode = mutableListOf<String>()
@@ -102,28 +134,28 @@ fun IO.emitClassFor(
         sourceCode.add(format(source))
     }
 
-    if (binDir != null) {
-        writeAccessorsBytecodeTo(
-            binDir,
-            className,
-            fragments,
-            ::collectSourceFragment,
-            moduleName
-        )
-    } else {
-        for ((source, _, _, _) in fragments) {
-            collectSourceFragment(source)
+    val bytecode =
+        if (withBytecode) {
+            accessorsBytecodeFor(
+                className,
+                fragments,
+                ::collectSourceFragment,
+                moduleName
+            )
+        } else {
+            for ((source, _, _, _) in fragments) {
+                collectSourceFragment(source)
+            }
+            null
         }
-    }
 
-    writeAccessorsTo(
-        sourceFileFor(className, srcDir),
+    val source = accessorsSourceFor(
         sourceCode,
         importsRequiredBy(accessor),
         outputPackage.name
     )
 
-    return className
+    return EmittedAccessorClass(className, bytecode, source.toByteArray())
 }
 
 
@@ -133,13 +165,12 @@ fun sourceFileFor(className: InternalName, srcDir: File) =
 
 
 private
-fun IO.writeAccessorsBytecodeTo(
-    binDir: File,
+fun accessorsBytecodeFor(
     className: InternalName,
     fragments: Sequence<AccessorFragment>,
     collectSourceFragment: (String) -> Unit,
     moduleName: String
-) {
+): ByteArray {
 
     val metadataWriter = beginFileFacadeClassHeader()
     val classWriter = beginPublicClass(className)
@@ -151,9 +182,7 @@ fun IO.writeAccessorsBytecodeTo(
     }
 
     val metadata = metadataWriter.closeHeader(moduleName)
-    val classBytes = classWriter.endKotlinClass(metadata)
-    val classFile = binDir.resolve("$className.class")
-    writeFile(classFile, classBytes)
+    return classWriter.endKotlinClass(metadata)
 }
 
 
@@ -16,6 +16,7 @@
 package org.gradle.kotlin.dsl.provider
 
 import org.gradle.cache.internal.CrossBuildInMemoryCacheFactory
+import org.gradle.kotlin.dsl.accessors.AccessorClassCache
 
 
 internal
@@ -25,4 +26,9 @@ object GradleUserHomeServices {
     fun createKotlinScriptClassloadingCache(
         cacheFactory: CrossBuildInMemoryCacheFactory
     ) = KotlinScriptClassloadingCache(cacheFactory)
+
+    @Suppress("unused")
+    fun createAccessorClassCache(
+        cacheFactory: CrossBuildInMemoryCacheFactory
+    ) = AccessorClassCache(cacheFactory)
 }
@@ -43,6 +43,8 @@ import org.gradle.api.tasks.SourceSet
 import org.gradle.api.tasks.SourceSetContainer
 import org.gradle.api.tasks.TaskContainer
 import org.gradle.api.tasks.TaskProvider
+import org.gradle.cache.internal.CrossBuildInMemoryCache
+import org.gradle.cache.internal.CrossBuildInMemoryCacheFactory
 import org.gradle.internal.classpath.ClassPath
 import org.gradle.internal.classpath.DefaultClassPath
 import org.gradle.kotlin.dsl.*
@@ -63,6 +65,7 @@ import java.io.File
 import java.lang.reflect.Method
 import java.lang.reflect.Modifier.PUBLIC
 import java.lang.reflect.Modifier.STATIC
+import java.util.function.Function
 
 
 class ProjectAccessorsClassPathTest : AbstractDslTest() {
@@ -129,6 +132,70 @@ class ProjectAccessorsClassPathTest : AbstractDslTest() {
         testAccessorsBuiltBy(::buildAccessorsFromSourceFor)
     }
 
+    @Test
+    fun `#buildAccessorsFor (shared accessor classes)`() {
+
+        // given:
+        val schema =
+            TypedProjectSchema(
+                extensions = listOf(entry<Project, SourceSetContainer>("sourceSets")),
+                containerElements = listOf(entry<SourceSetContainer, SourceSet>("main")),
+                conventions = listOf(),
+                tasks = listOf(entry<TaskContainer, Delete>("clean")),
+                configurations = listOf(ConfigurationEntry("api"))
+            )
+        val emittedClasses = mutableMapOf<Any, Any>()
+        val cacheFactory = mock<CrossBuildInMemoryCacheFactory> {
+            on { newCache<Any, Any>() } doReturn MapBackedCrossBuildInMemoryCache(emittedClasses)
+        }
+        val accessorClassCache = AccessorClassCache(cacheFactory)
+
+        fun buildAccessorsTo(outputDir: File) = withSynchronousIO {
+            buildAccessorsFor(
+                schema,
+                testRuntimeClassPath,
+                outputDir.resolve("src"),
+                outputDir.resolve("bin"),
+                accessorClassCache = accessorClassCache
+            )
+        }
+
+        val firstOutputDir = newFolder("first")
+        val secondOutputDir = newFolder("second")
+
+        // when:
+        buildAccessorsTo(firstOutputDir)
+        val emittedClassCount = emittedClasses.size
+        buildAccessorsTo(secondOutputDir)
+
+        // then:
+        assertEquals(emittedClassCount, emittedClasses.size)
+        assertEquals(
+            filesIn(firstOutputDir).mapValues { it.value.readBytes().toList() },
+            filesIn(secondOutputDir).mapValues { it.value.readBytes().toList() }
+        )
+    }
+
+    @Test
+    fun `shared accessor classes are keyed by binary type names`() {
+
+        // given:
+        val accessor =
+            Accessor.ForExtension(
+                TypedAccessorSpec(
+                    TypeAccessibility.Accessible(SchemaType.of<Project>()),
+                    AccessorNameSpec("entry"),
+                    TypeAccessibility.Accessible(SchemaType.of<Map.Entry<String, Int>>())
+                )
+            )
+
+        // expect:
+        assertEquals(
+            "ForExtension(org.gradle.api.Project, entry, java.util.Map\$Entry<java.lang.String, java.lang.Integer>)",
+            accessorKeyStringFor(accessor)
+        )
+    }
+
     @Test
     fun `#buildAccessorsFor (deprecated configurations)`() {
         val schema =
@@ -262,6 +329,10 @@ class ProjectAccessorsClassPathTest : AbstractDslTest() {
         )
     }
 
+    private
+    fun filesIn(dir: File) =
+        dir.walkTopDown().filter { it.isFile }.associateBy { it.relativeTo(dir).path }
+
     private
     fun kotlinFilesIn(srcDir: File) =
         srcDir.walkTopDown().filter { it.isFile && it.extension == "kt" }.toList()
@@ -525,6 +596,28 @@ inline fun <reified ReceiverType, reified EntryType> entry(name: String): Projec
     ProjectSchemaEntry(SchemaType.of<ReceiverType>(), name, SchemaType.of<EntryType>())
 
 
+private
+class MapBackedCrossBuildInMemoryCache<K, V>(
+    private val entries: MutableMap<Any, Any>
+) : CrossBuildInMemoryCache<K, V> {
+
+    @Suppress("unchecked_cast")
+    override fun get(key: K, factory: Function<in K, out V>): V =
+        entries.getOrPut(key!!) { factory.apply(key)!! } as V
+
+    @Suppress("unchecked_cast")
+    override fun getIfPresent(key: K): V? =
+        entries[key!!] as V?
+
+    override fun put(key: K, value: V) {
+        entries[key!!] = value!!
+    }
+
+    override fun clear() =
+        entries.clear()
+}
+
+
 private
 fun Method.isPublicStatic() = (modifiers and STATIC == STATIC) &&
     (modifiers and PUBLIC == PUBLIC)
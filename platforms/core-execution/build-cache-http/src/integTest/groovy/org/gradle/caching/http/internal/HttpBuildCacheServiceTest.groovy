@@ -18,6 +18,7 @@ package org.gradle.caching.http.internal
 
 import org.apache.http.HttpHeaders
 import org.apache.http.HttpStatus
+import org.gradle.api.GradleException
 import org.gradle.api.UncheckedIOException
 import org.gradle.api.internal.DocumentationRegistry
 import org.gradle.caching.BuildCacheEntryWriter
@@ -30,14 +31,18 @@ import org.gradle.internal.resource.transport.http.DefaultSslContextFactory
 import org.gradle.internal.resource.transport.http.HttpClientHelper
 import org.gradle.test.fixtures.file.TestNameTestDirectoryProvider
 import org.gradle.test.fixtures.server.http.AuthScheme
+import org.gradle.test.fixtures.server.http.BlockingHttpServer
 import org.gradle.test.fixtures.server.http.HttpResourceInteraction
 import org.gradle.test.fixtures.server.http.HttpServer
+import org.gradle.util.SetSystemProperties
 import org.gradle.util.TestUtil
 import org.junit.Rule
 import spock.lang.Specification
 
 import javax.servlet.http.HttpServletRequest
 import javax.servlet.http.HttpServletResponse
+import java.util.concurrent.Callable
+import java.util.concurrent.Executors
 
 class HttpBuildCacheServiceTest extends Specification {
     public static final List<Integer> FATAL_HTTP_ERROR_CODES = [
@@ -55,6 +60,8 @@ class HttpBuildCacheServiceTest extends Specification {
     HttpServer server = new HttpServer()
     @Rule
     TestNameTestDirectoryProvider tempDir = new TestNameTestDirectoryProvider(getClass())
+    @Rule
+    SetSystemProperties systemProperties = new SetSystemProperties()
 
     BuildCacheServiceFactory.Describer buildCacheDescriber
     HttpClientHelper.Factory httpClientHelperFactory = HttpClientHelper.Factory.createFactory(new DocumentationRegistry())
@@ -148,6 +155,46 @@ class HttpBuildCacheServiceTest extends Specification {
         receivedInput == "Data"
     }
 
+    def "loads as many entries concurrently as there are connections configured"() {
+        // More than the connection pool size used before the limit was configurable
+        def maxConnections = 24
+        System.setProperty(DefaultHttpBuildCacheServiceFactory.MAX_CONNECTIONS_PROPERTY, maxConnections.toString())
+        def blockingServer = new BlockingHttpServer()
+        blockingServer.start()
+        config.url = blockingServer.uri("cache/")
+        def keys = (1..maxConnections).collect { new DefaultBuildCacheKey(HashCode.fromString(String.format("01234567abcdef%02d", it))) }
+        blockingServer.expectConcurrent(keys.collect { "cache/${it.hashCode}".toString() })
+        def service = cache
+        def executor = Executors.newFixedThreadPool(keys.size())
+
+        when:
+        def loads = keys.collect { loadKey ->
+            executor.submit({ service.load(loadKey) { input -> } } as Callable<Boolean>)
+        }
+        def results = loads*.get()
+
+        then:
+        results == [true] * keys.size()
+
+        cleanup:
+        executor?.shutdownNow()
+        blockingServer?.stop()
+    }
+
+    def "rejects invalid number of connections #value"() {
+        System.setProperty(DefaultHttpBuildCacheServiceFactory.MAX_CONNECTIONS_PROPERTY, value)
+
+        when:
+        cache
+
+        then:
+        def e = thrown(GradleException)
+        e.message == "Invalid value '${value}' for system property 'org.gradle.cache.http.max-connections', it must be a positive integer."
+
+        where:
+        value << ["0", "-1", "many"]
+    }
+
     def "reports cache miss on 404"() {
         server.expectGetMissing("/cache/${key.hashCode}")
 
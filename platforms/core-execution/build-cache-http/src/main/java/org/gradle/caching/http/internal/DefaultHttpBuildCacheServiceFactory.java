@@ -45,6 +45,13 @@ public class DefaultHttpBuildCacheServiceFactory implements BuildCacheServiceFac
 
     private static final int MAX_REDIRECTS = Integer.getInteger("org.gradle.cache.http.max-redirects", 10);
 
+    /**
+     * The number of pooled connections to the cache, which bounds how many entries can be loaded and stored at the same time.
+     */
+    @VisibleForTesting
+    static final String MAX_CONNECTIONS_PROPERTY = "org.gradle.cache.http.max-connections";
+    private static final int MIN_DEFAULT_MAX_CONNECTIONS = 20;
+
     private final SslContextFactory sslContextFactory;
     private final HttpBuildCacheRequestCustomizer requestCustomizer;
     private final HttpClientHelper.Factory httpClientHelperFactory;
@@ -85,9 +92,12 @@ public BuildCacheService createBuildCacheService(HttpBuildCache configuration, D
         HttpRedirectVerifier redirectVerifier =
             createRedirectVerifier(noUserInfoUrl, allowInsecureProtocol);
 
+        int maxConnections = maxConnections();
         DefaultHttpSettings.Builder builder = DefaultHttpSettings.builder()
             .withAuthenticationSettings(authentications)
             .maxRedirects(MAX_REDIRECTS)
+            .maxConnTotal(maxConnections)
+            .maxConnPerRoute(maxConnections)
             .withRedirectMethodHandlingStrategy(HttpSettings.RedirectMethodHandlingStrategy.ALLOW_FOLLOW_FOR_MUTATIONS)
             .withRedirectVerifier(redirectVerifier);
         if (allowUntrustedServer) {
@@ -108,6 +118,27 @@ public BuildCacheService createBuildCacheService(HttpBuildCache configuration, D
         return new HttpBuildCacheService(httpClientHelper, noUserInfoUrl, requestCustomizer, useExpectContinue);
     }
 
+    /**
+     * Every worker may be waiting on a load while entries are being stored in the background,
+     * so all of them should get a connection to the cache instead of queueing for one of the default pool.
+     */
+    private static int maxConnections() {
+        String value = System.getProperty(MAX_CONNECTIONS_PROPERTY);
+        if (value == null) {
+            return Math.max(MIN_DEFAULT_MAX_CONNECTIONS, 2 * Runtime.getRuntime().availableProcessors());
+        }
+        int maxConnections;
+        try {
+            maxConnections = Integer.parseInt(value.trim());
+        } catch (NumberFormatException e) {
+            maxConnections = 0;
+        }
+        if (maxConnections <= 0) {
+            throw new GradleException(String.format("Invalid value '%s' for system property '%s', it must be a positive integer.", value, MAX_CONNECTIONS_PROPERTY));
+        }
+        return maxConnections;
+    }
+
     private HttpRedirectVerifier createRedirectVerifier(URI url, boolean allowInsecureProtocol) {
         return HttpRedirectVerifierFactory
             .create(
@@ -22,23 +22,40 @@
 import org.gradle.caching.internal.packaging.BuildCacheEntryPacker;
 import org.gradle.internal.snapshot.FileSystemSnapshot;
 
+import javax.annotation.Nullable;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.OutputStream;
 import java.util.Map;
+import java.util.concurrent.Executor;
 import java.util.zip.GZIPInputStream;
 import java.util.zip.GZIPOutputStream;
 
+/**
+ * Compresses entries with gzip.
+ *
+ * When given an executor, blocks of an entry larger than a single block are compressed concurrently as separate gzip members.
+ * Such entries are still valid gzip streams, and can be unpacked by any version of this packer.
+ */
 public class GZipBuildCacheEntryPacker implements BuildCacheEntryPacker {
+    public static final String PARALLEL_COMPRESSION_PROPERTY = "org.gradle.internal.build-cache.parallel-compression";
+
     private final BuildCacheEntryPacker delegate;
+    @Nullable
+    private final Executor compressionExecutor;
 
     public GZipBuildCacheEntryPacker(BuildCacheEntryPacker delegate) {
+        this(delegate, null);
+    }
+
+    public GZipBuildCacheEntryPacker(BuildCacheEntryPacker delegate, @Nullable Executor compressionExecutor) {
         this.delegate = delegate;
+        this.compressionExecutor = compressionExecutor;
     }
 
     @Override
     public PackResult pack(CacheableEntity entity, Map<String, ? extends FileSystemSnapshot> snapshots, OutputStream output, OriginWriter writeOrigin) throws IOException {
-        try (GZIPOutputStream gzipOutput = new GZIPOutputStream(output)) {
+        try (OutputStream gzipOutput = compressionExecutor == null ? new GZIPOutputStream(output) : new ParallelGZipOutputStream(output, compressionExecutor)) {
             return delegate.pack(entity, snapshots, gzipOutput, writeOrigin);
         }
     }
@@ -0,0 +1,191 @@
+/*
+ * Copyright 2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.gradle.caching.internal.packaging.impl;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.io.OutputStream;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Future;
+import java.util.concurrent.FutureTask;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * An {@link OutputStream} that gzip compresses blocks of the written bytes concurrently.
+ *
+ * The first block is compressed by the calling thread as it is written, so output of at most one block is written as a
+ * single gzip member, exactly as by a {@link GZIPOutputStream}. Each further block is compressed by the executor and written
+ * as a separate gzip member, in the order the bytes were written.
+ * A concatenation of gzip members is a valid gzip stream, so the result can be read by a {@link java.util.zip.GZIPInputStream}.
+ */
+class ParallelGZipOutputStream extends OutputStream {
+    // Small enough not to be a humongous allocation for G1 with its smallest region size
+    static final int DEFAULT_BLOCK_SIZE = 256 * 1024;
+    static final int DEFAULT_MAX_PENDING_BLOCKS = 4;
+
+    private final OutputStream output;
+    private final Executor executor;
+    private final int blockSize;
+    private final int maxPendingBlocks;
+    private final Deque<Future<byte[]>> pendingBlocks = new ArrayDeque<>();
+    private GZIPOutputStream firstMember;
+    private int firstMemberLength;
+    private byte[] block;
+    private int blockLength;
+    private boolean closed;
+
+    public ParallelGZipOutputStream(OutputStream output, Executor executor) throws IOException {
+        this(output, executor, DEFAULT_BLOCK_SIZE, DEFAULT_MAX_PENDING_BLOCKS);
+    }
+
+    ParallelGZipOutputStream(OutputStream output, Executor executor, int blockSize, int maxPendingBlocks) throws IOException {
+        this.output = output;
+        this.executor = executor;
+        this.blockSize = blockSize;
+        this.maxPendingBlocks = maxPendingBlocks;
+        this.firstMember = new GZIPOutputStream(output);
+    }
+
+    @Override
+    public void write(int b) throws IOException {
+        ensureOpen();
+        if (firstMember != null) {
+            firstMember.write(b);
+            firstMemberLength++;
+            if (firstMemberLength == blockSize) {
+                finishFirstMember();
+            }
+            return;
+        }
+        block[blockLength++] = (byte) b;
+        if (blockLength == blockSize) {
+            submitBlock();
+        }
+    }
+
+    @Override
+    public void write(byte[] bytes, int off, int len) throws IOException {
+        ensureOpen();
+        while (len > 0 && firstMember != null) {
+            int count = Math.min(len, blockSize - firstMemberLength);
+            firstMember.write(bytes, off, count);
+            firstMemberLength += count;
+            off += count;
+            len -= count;
+            if (firstMemberLength == blockSize) {
+                finishFirstMember();
+            }
+        }
+        while (len > 0) {
+            int count = Math.min(len, blockSize - blockLength);
+            System.arraycopy(bytes, off, block, blockLength, count);
+            blockLength += count;
+            off += count;
+            len -= count;
+            if (blockLength == blockSize) {
+                submitBlock();
+            }
+        }
+    }
+
+    @Override
+    public void flush() throws IOException {
+        ensureOpen();
+        if (firstMember != null) {
+            firstMember.flush();
+        } else {
+            output.flush();
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        if (closed) {
+            return;
+        }
+        closed = true;
+        if (firstMember != null) {
+            firstMember.close();
+            return;
+        }
+        try {
+            // The last block is compressed by the calling thread while the pending blocks complete
+            byte[] lastBlock = blockLength > 0
+                ? compress(block, blockLength)
+                : null;
+            block = null;
+            while (!pendingBlocks.isEmpty()) {
+                writeCompressedBlock(pendingBlocks.removeFirst());
+            }
+            if (lastBlock != null) {
+                output.write(lastBlock);
+            }
+        } finally {
+            output.close();
+        }
+    }
+
+    private void ensureOpen() throws IOException {
+        if (closed) {
+            throw new IOException("Stream closed.");
+        }
+    }
+
+    private void finishFirstMember() throws IOException {
+        firstMember.finish();
+        firstMember = null;
+        block = new byte[blockSize];
+    }
+
+    private void submitBlock() throws IOException {
+        byte[] bytes = block;
+        int length = blockLength;
+        FutureTask<byte[]> compression = new FutureTask<>(() -> compress(bytes, length));
+        executor.execute(compression);
+        pendingBlocks.addLast(compression);
+        block = new byte[blockSize];
+        blockLength = 0;
+        while (pendingBlocks.size() > maxPendingBlocks) {
+            writeCompressedBlock(pendingBlocks.removeFirst());
+        }
+    }
+
+    private void writeCompressedBlock(Future<byte[]> compression) throws IOException {
+        byte[] compressed;
+        try {
+            compressed = compression.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Interrupted while compressing build cache entry.");
+        } catch (ExecutionException e) {
+            throw new IOException("Could not compress build cache entry.", e.getCause());
+        }
+        output.write(compressed);
+    }
+
+    private static byte[] compress(byte[] bytes, int length) throws IOException {
+        ByteArrayOutputStream compressed = new ByteArrayOutputStream(length / 2 + 64);
+        try (GZIPOutputStream gzipOutput = new GZIPOutputStream(compressed)) {
+            gzipOutput.write(bytes, 0, length);
+        }
+        return compressed.toByteArray();
+    }
+}
@@ -0,0 +1,79 @@
+/*
+ * Copyright 2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.gradle.caching.internal.packaging.impl
+
+import spock.lang.Specification
+
+import java.util.concurrent.Executor
+import java.util.concurrent.Executors
+import java.util.zip.GZIPInputStream
+import java.util.zip.GZIPOutputStream
+
+class ParallelGZipOutputStreamTest extends Specification {
+    def executor = Executors.newFixedThreadPool(2)
+
+    def cleanup() {
+        executor.shutdownNow()
+    }
+
+    def "compressed #size bytes can be read as a single gzip stream"() {
+        def bytes = new byte[size]
+        new Random(size).nextBytes(bytes)
+        def compressed = new ByteArrayOutputStream()
+
+        when:
+        new ParallelGZipOutputStream(compressed, executor, 16, 2).withCloseable { output ->
+            output.write(bytes, 0, size.intdiv(2))
+            (size.intdiv(2)..<size).each { output.write(bytes[it]) }
+        }
+
+        then:
+        new GZIPInputStream(new ByteArrayInputStream(compressed.toByteArray())).bytes == bytes
+
+        where:
+        size << [0, 1, 15, 16, 17, 1000]
+    }
+
+    def "output of at most one block is a single gzip member written by the calling thread"() {
+        def bytes = new byte[size]
+        new Random(size).nextBytes(bytes)
+        def compressed = new ByteArrayOutputStream()
+        def expected = new ByteArrayOutputStream()
+        def executor = Mock(Executor)
+
+        when:
+        new ParallelGZipOutputStream(compressed, executor, 16, 2).withCloseable { it.write(bytes) }
+        new GZIPOutputStream(expected).withCloseable { it.write(bytes) }
+
+        then:
+        0 * executor._
+        compressed.toByteArray() == expected.toByteArray()
+
+        where:
+        size << [0, 1, 16]
+    }
+
+    def "closes the underlying stream"() {
+        def target = Mock(OutputStream)
+
+        when:
+        new ParallelGZipOutputStream(target, executor, 16, 2).close()
+
+        then:
+        1 * target.close()
+    }
+}
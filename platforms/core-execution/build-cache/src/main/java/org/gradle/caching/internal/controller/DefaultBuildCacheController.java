@@ -46,6 +46,8 @@
 import org.gradle.caching.local.internal.BuildCacheTempFileStore;
 import org.gradle.caching.local.internal.DefaultBuildCacheTempFileStore;
 import org.gradle.caching.local.internal.LocalBuildCacheService;
+import org.gradle.internal.concurrent.ExecutorFactory;
+import org.gradle.internal.concurrent.ManagedExecutor;
 import org.gradle.internal.file.FileMetadata;
 import org.gradle.internal.file.FileType;
 import org.gradle.internal.file.TreeType;
@@ -58,6 +60,7 @@
 import org.gradle.internal.snapshot.FileSystemLocationSnapshot;
 import org.gradle.internal.snapshot.FileSystemSnapshot;
 import org.gradle.internal.snapshot.MissingFileSnapshot;
+import org.gradle.util.internal.GFileUtils;
 
 import javax.annotation.Nullable;
 import java.io.File;
@@ -68,10 +71,21 @@
 import java.time.Duration;
 import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.Semaphore;
 import java.util.concurrent.atomic.AtomicReference;
 
 public class DefaultBuildCacheController implements BuildCacheController {
 
+    /**
+     * The number of entries uploaded to the remote cache at the same time when storing in the background.
+     */
+    private static final int MAX_CONCURRENT_REMOTE_STORES = 4;
+
+    /**
+     * The number of packed entries that may wait for their upload before storing blocks the calling worker.
+     */
+    private static final int MAX_PENDING_REMOTE_STORES = 16;
+
     @VisibleForTesting
     final RemoteBuildCacheServiceHandle remote;
 
@@ -81,6 +95,10 @@ public class DefaultBuildCacheController implements BuildCacheController {
     private final BuildCacheTempFileStore tmp;
     private final boolean emitDebugLogging;
     private final PackOperationExecutor packExecutor;
+    private final TemporaryFileProvider temporaryFileProvider;
+    @Nullable
+    private final ManagedExecutor remoteStoreExecutor;
+    private final Semaphore pendingRemoteStores = new Semaphore(MAX_PENDING_REMOTE_STORES);
 
     private boolean closed;
 
@@ -94,7 +112,9 @@ public DefaultBuildCacheController(
         boolean disableRemoteOnError,
         BuildCacheEntryPacker packer,
         OriginMetadataFactory originMetadataFactory,
-        StringInterner stringInterner
+        StringInterner stringInterner,
+        ExecutorFactory executorFactory,
+        boolean storeRemotelyInBackground
     ) {
         this.emitDebugLogging = emitDebugLogging;
         this.local = toLocalHandle(config.getLocal(), config.isLocalPush(), buildOperationExecutor);
@@ -106,6 +126,10 @@ public DefaultBuildCacheController(
             originMetadataFactory,
             stringInterner
         );
+        this.temporaryFileProvider = temporaryFileProvider;
+        this.remoteStoreExecutor = storeRemotelyInBackground && remote.canStore()
+            ? executorFactory.create("Build cache remote store", MAX_CONCURRENT_REMOTE_STORES)
+            : null;
     }
 
     @Override
@@ -160,6 +184,10 @@ public void store(BuildCacheKey key, CacheableEntity entity, Map<String, FileSys
         if (!local.canStore() && !remote.canStore()) {
             return;
         }
+        if (remoteStoreExecutor != null && remote.canStore()) {
+            storeInBackground(key, entity, snapshots, executionTime, remoteStoreExecutor);
+            return;
+        }
         tmp.withTempFile(((DefaultBuildCacheKey) key).getHashCodeInternal(), file -> {
             packExecutor.pack(file, key, entity, snapshots, executionTime);
             remote.maybeStore(key, file);
@@ -167,6 +195,37 @@ public void store(BuildCacheKey key, CacheableEntity entity, Map<String, FileSys
         });
     }
 
+    /**
+     * Packs the entry on the calling thread, while the outputs are still owned by the work that produced them,
+     * and hands the packed file over to be uploaded and stored locally without holding up the caller.
+     * Blocks when too many packed entries are already waiting for their upload.
+     * Failures to store are reported when the controller is closed at the end of the build.
+     */
+    private void storeInBackground(BuildCacheKey key, CacheableEntity entity, Map<String, FileSystemSnapshot> snapshots, Duration executionTime, ManagedExecutor executor) {
+        pendingRemoteStores.acquireUninterruptibly();
+        File file = null;
+        try {
+            file = temporaryFileProvider.createTemporaryFile(key.getHashCode() + "-", BuildCacheTempFileStore.PARTIAL_FILE_SUFFIX);
+            packExecutor.pack(file, key, entity, snapshots, executionTime);
+            File packedFile = file;
+            executor.execute(() -> {
+                try {
+                    remote.maybeStore(key, packedFile);
+                    local.maybeStore(key, packedFile);
+                } catch (Exception e) {
+                    throw new GradleException(String.format("Failed to store cache entry %s for %s: %s", key.getHashCode(), entity.getDisplayName(), e.getMessage()), e);
+                } finally {
+                    GFileUtils.deleteQuietly(packedFile);
+                    pendingRemoteStores.release();
+                }
+            });
+        } catch (RuntimeException e) {
+            GFileUtils.deleteQuietly(file);
+            pendingRemoteStores.release();
+            throw e;
+        }
+    }
+
     @Override
     public void close() throws IOException {
         if (!closed) {
@@ -174,6 +233,10 @@ public void close() throws IOException {
             Closer closer = Closer.create();
             closer.register(local);
             closer.register(remote);
+            if (remoteStoreExecutor != null) {
+                // Registered last so pending stores are finished before the services are closed
+                closer.register(remoteStoreExecutor::stop);
+            }
             closer.close();
         }
     }
@@ -17,6 +17,7 @@
 package org.gradle.caching.internal.controller
 
 import org.gradle.api.Action
+import org.gradle.api.GradleException
 import org.gradle.api.internal.cache.StringInterner
 import org.gradle.api.internal.file.TestFiles
 import org.gradle.caching.BuildCacheEntryReader
@@ -29,6 +30,7 @@ import org.gradle.caching.internal.controller.service.BuildCacheServicesConfigur
 import org.gradle.caching.internal.origin.OriginMetadataFactory
 import org.gradle.caching.internal.packaging.BuildCacheEntryPacker
 import org.gradle.caching.local.internal.LocalBuildCacheService
+import org.gradle.internal.concurrent.DefaultExecutorFactory
 import org.gradle.internal.hash.HashCode
 import org.gradle.internal.hash.TestHashCodes
 import org.gradle.internal.operations.NoOpBuildOperationProgressEventEmitter
@@ -48,6 +50,7 @@ class DefaultBuildCacheControllerTest extends Specification {
 
     CacheableEntity cacheableEntity = Stub(CacheableEntity) {
         identity >> ":test"
+        displayName >> "task ':test'"
         type >> CacheableEntity
     }
     Duration executionTime = Duration.ofMillis(123)
@@ -73,7 +76,7 @@ class DefaultBuildCacheControllerTest extends Specification {
 
     interface Local extends BuildCacheService, LocalBuildCacheService {}
 
-    BuildCacheController getController(boolean disableRemoteOnError = true) {
+    BuildCacheController getController(boolean disableRemoteOnError = true, boolean storeRemotelyInBackground = false) {
         new DefaultBuildCacheController(
             new BuildCacheServicesConfiguration(
                 Path.ROOT.path,
@@ -90,7 +93,9 @@ class DefaultBuildCacheControllerTest extends Specification {
             disableRemoteOnError,
             packer,
             originMetadataFactory,
-            stringInterner
+            stringInterner,
+            new DefaultExecutorFactory(),
+            storeRemotelyInBackground
         )
     }
 
@@ -278,4 +283,37 @@ class DefaultBuildCacheControllerTest extends Specification {
         1 * local.close()
         1 * remote.close()
     }
+
+    def "stores in the background and finishes pending stores on close"() {
+        def storingThread = null
+
+        when:
+        def controller = getController(true, true)
+        controller.store(key, cacheableEntity, snapshots, executionTime)
+        controller.close()
+
+        then:
+        1 * remote.store(key, _) >> { storingThread = Thread.currentThread() }
+        1 * local.storeLocally(key, _)
+
+        then:
+        1 * local.close()
+        1 * remote.close()
+        storingThread != null
+        storingThread != Thread.currentThread()
+    }
+
+    def "reports failure to store in the background on close"() {
+        when:
+        def controller = getController(true, true)
+        controller.store(key, cacheableEntity, snapshots, executionTime)
+        controller.close()
+
+        then:
+        1 * local.storeLocally(key, _) >> { throw new RuntimeException("broken") }
+        1 * local.close()
+        1 * remote.close()
+        def e = thrown(GradleException)
+        e.message == "Failed to store cache entry ${key.hashCode} for task ':test': broken"
+    }
 }
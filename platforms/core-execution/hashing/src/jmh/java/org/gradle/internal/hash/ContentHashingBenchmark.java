@@ -0,0 +1,84 @@
+/*
+ * Copyright 2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.gradle.internal.hash;
+
+import com.google.common.collect.ImmutableMap;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.Map;
+import java.util.Random;
+
+/**
+ * Compares the throughput of the hash functions available for hashing file contents.
+ */
+@Fork(1)
+@Threads(1)
+@Warmup(iterations = 5)
+@Measurement(iterations = 5)
+@State(Scope.Benchmark)
+public class ContentHashingBenchmark {
+    private static final Map<String, HashFunction> HASH_FUNCTIONS = ImmutableMap.of(
+        "md5", Hashing.md5(),
+        "murmur3", Hashing.murmur3_128()
+    );
+
+    @Param({"4096", "1048576", "209715200"})
+    int fileSize;
+
+    @Param({"md5", "murmur3"})
+    String hashFunction;
+
+    File file;
+    FileHasher hasher;
+
+    @Setup
+    public void setup() throws IOException {
+        file = File.createTempFile("content-hashing", ".bin");
+        Random random = new Random(1234L);
+        byte[] chunk = new byte[Math.min(fileSize, 1024 * 1024)];
+        try (OutputStream output = new FileOutputStream(file)) {
+            for (int written = 0; written < fileSize; written += chunk.length) {
+                random.nextBytes(chunk);
+                output.write(chunk, 0, Math.min(chunk.length, fileSize - written));
+            }
+        }
+        hasher = new DefaultFileHasher(new DefaultStreamHasher(HASH_FUNCTIONS.get(hashFunction)));
+    }
+
+    @TearDown
+    public void tearDown() {
+        file.delete();
+    }
+
+    @Benchmark
+    public HashCode hashFile() {
+        return hasher.hash(file);
+    }
+}
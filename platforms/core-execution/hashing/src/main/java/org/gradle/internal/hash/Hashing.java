@@ -47,8 +47,17 @@ private Hashing() {
 
     private static final HashFunction SHA512 = MessageDigestHashFunction.of("SHA-512");
 
+    private static final HashFunction MURMUR3_128 = new Murmur3HashFunction();
+
     private static final HashFunction DEFAULT = MD5;
 
+    /**
+     * System property to select the hash function for file contents, see {@link #contentHashFunction()}.
+     */
+    public static final String CONTENT_HASH_FUNCTION_PROPERTY = "org.gradle.internal.content-hash-function";
+
+    private static final HashFunction CONTENT = contentHashFunctionFromSystemProperty();
+
     /**
      * Returns a new {@link Hasher} based on the default hashing implementation.
      */
@@ -124,6 +133,28 @@ public static HashFunction defaultFunction() {
         return DEFAULT;
     }
 
+    /**
+     * The hash function used to hash the contents of files for local fingerprinting.
+     *
+     * This is {@link #defaultFunction()}, unless {@code murmur3} is selected via the {@value #CONTENT_HASH_FUNCTION_PROPERTY} system property.
+     * Changing the function changes the fingerprints of all files, and hence the build cache keys of all work using them.
+     * As MurmurHash3 is not collision resistant, the remote build cache is not used while it is selected.
+     */
+    public static HashFunction contentHashFunction() {
+        return CONTENT;
+    }
+
+    private static HashFunction contentHashFunctionFromSystemProperty() {
+        String name = System.getProperty(CONTENT_HASH_FUNCTION_PROPERTY);
+        if (name == null || name.equalsIgnoreCase("md5")) {
+            return DEFAULT;
+        }
+        if (name.equalsIgnoreCase("murmur3")) {
+            return MURMUR3_128;
+        }
+        throw new IllegalArgumentException(String.format("Unsupported content hash function '%s' set via '%s', supported are 'md5' and 'murmur3'.", name, CONTENT_HASH_FUNCTION_PROPERTY));
+    }
+
     /**
      * MD5 hashing function.
      */
@@ -152,35 +183,23 @@ public static HashFunction sha512() {
         return SHA512;
     }
 
-    private static abstract class MessageDigestHashFunction implements HashFunction {
+    /**
+     * 128-bit MurmurHash3 (x64 variant) hashing function.
+     *
+     * A non-cryptographic hash function that is considerably faster than {@link #md5()}.
+     * It produces the same hashes as Guava's {@code Hashing.murmur3_128()}.
+     */
+    public static HashFunction murmur3_128() {
+        return MURMUR3_128;
+    }
+
+    private static abstract class AbstractHashFunction implements HashFunction {
         private final int hexDigits;
 
-        public MessageDigestHashFunction(int hashBits) {
+        public AbstractHashFunction(int hashBits) {
             this.hexDigits = hashBits / 4;
         }
 
-        public static MessageDigestHashFunction of(String algorithm) {
-            MessageDigest prototype;
-            try {
-                prototype = MessageDigest.getInstance(algorithm);
-            } catch (NoSuchAlgorithmException e) {
-                throw new IllegalArgumentException("Cannot instantiate digest algorithm: " + algorithm);
-            }
-            int hashBits = prototype.getDigestLength() * 8;
-            try {
-                prototype.clone();
-                return new CloningMessageDigestHashFunction(prototype, hashBits);
-            } catch (CloneNotSupportedException e) {
-                return new RegularMessageDigestHashFunction(algorithm, hashBits);
-            }
-        }
-
-        @Override
-        public PrimitiveHasher newPrimitiveHasher() {
-            MessageDigest digest = createDigest();
-            return new MessageDigestHasher(digest);
-        }
-
         @Override
         public Hasher newHasher() {
             return new DefaultHasher(newPrimitiveHasher());
@@ -218,8 +237,6 @@ private HashingOutputStream primitiveStreamHasher() {
             return new HashingOutputStream(this, ByteStreams.nullOutputStream());
         }
 
-        protected abstract MessageDigest createDigest();
-
         @Override
         public int getHexDigits() {
             return hexDigits;
@@ -231,6 +248,36 @@ public String toString() {
         }
     }
 
+    private static abstract class MessageDigestHashFunction extends AbstractHashFunction {
+        public MessageDigestHashFunction(int hashBits) {
+            super(hashBits);
+        }
+
+        public static MessageDigestHashFunction of(String algorithm) {
+            MessageDigest prototype;
+            try {
+                prototype = MessageDigest.getInstance(algorithm);
+            } catch (NoSuchAlgorithmException e) {
+                throw new IllegalArgumentException("Cannot instantiate digest algorithm: " + algorithm);
+            }
+            int hashBits = prototype.getDigestLength() * 8;
+            try {
+                prototype.clone();
+                return new CloningMessageDigestHashFunction(prototype, hashBits);
+            } catch (CloneNotSupportedException e) {
+                return new RegularMessageDigestHashFunction(algorithm, hashBits);
+            }
+        }
+
+        @Override
+        public PrimitiveHasher newPrimitiveHasher() {
+            MessageDigest digest = createDigest();
+            return new MessageDigestHasher(digest);
+        }
+
+        protected abstract MessageDigest createDigest();
+    }
+
     private static class CloningMessageDigestHashFunction extends MessageDigestHashFunction {
         private final MessageDigest prototype;
 
@@ -362,6 +409,203 @@ public HashCode hash() {
         }
     }
 
+    private static class Murmur3HashFunction extends AbstractHashFunction {
+        public Murmur3HashFunction() {
+            super(128);
+        }
+
+        @Override
+        public String getAlgorithm() {
+            return "MURMUR3-128";
+        }
+
+        @Override
+        public PrimitiveHasher newPrimitiveHasher() {
+            return new Murmur3Hasher();
+        }
+    }
+
+    /**
+     * Streaming implementation of the x64 128-bit variant of MurmurHash3 with a seed of 0.
+     * Inspired by the Google Guava project – https://github.com/google/guava.
+     */
+    private static class Murmur3Hasher implements PrimitiveHasher {
+        private static final int BLOCK_SIZE = 16;
+        private static final long C1 = 0x87c37b91114253d5L;
+        private static final long C2 = 0x4cf5ad432745937fL;
+
+        private final byte[] block = new byte[BLOCK_SIZE];
+        private final byte[] scratch = new byte[8];
+        private int blockLength;
+        private long length;
+        private long h1;
+        private long h2;
+        private boolean done;
+
+        private void checkNotDone() {
+            if (done) {
+                throw new IllegalStateException("Cannot reuse hasher!");
+            }
+        }
+
+        @Override
+        public void putByte(byte b) {
+            checkNotDone();
+            length++;
+            block[blockLength++] = b;
+            if (blockLength == BLOCK_SIZE) {
+                processBlock(block, 0);
+                blockLength = 0;
+            }
+        }
+
+        @Override
+        public void putBytes(byte[] bytes) {
+            putBytes(bytes, 0, bytes.length);
+        }
+
+        @Override
+        public void putBytes(byte[] bytes, int off, int len) {
+            checkNotDone();
+            length += len;
+            if (blockLength > 0) {
+                int count = Math.min(len, BLOCK_SIZE - blockLength);
+                System.arraycopy(bytes, off, block, blockLength, count);
+                blockLength += count;
+                off += count;
+                len -= count;
+                if (blockLength < BLOCK_SIZE) {
+                    return;
+                }
+                processBlock(block, 0);
+                blockLength = 0;
+            }
+            while (len >= BLOCK_SIZE) {
+                processBlock(bytes, off);
+                off += BLOCK_SIZE;
+                len -= BLOCK_SIZE;
+            }
+            System.arraycopy(bytes, off, block, 0, len);
+            blockLength = len;
+        }
+
+        @Override
+        public void putInt(int value) {
+            for (int i = 0; i < 4; i++) {
+                scratch[i] = (byte) (value >>> (8 * i));
+            }
+            putBytes(scratch, 0, 4);
+        }
+
+        @Override
+        public void putLong(long value) {
+            for (int i = 0; i < 8; i++) {
+                scratch[i] = (byte) (value >>> (8 * i));
+            }
+            putBytes(scratch, 0, 8);
+        }
+
+        @Override
+        public void putDouble(double value) {
+            putLong(Double.doubleToRawLongBits(value));
+        }
+
+        @Override
+        public void putBoolean(boolean value) {
+            putByte((byte) (value ? 1 : 0));
+        }
+
+        @Override
+        public void putString(CharSequence value) {
+            putBytes(value.toString().getBytes(Charsets.UTF_8));
+        }
+
+        @Override
+        public void putHash(HashCode hashCode) {
+            hashCode.appendToHasher(this);
+        }
+
+        @Override
+        public HashCode hash() {
+            checkNotDone();
+            done = true;
+            if (blockLength > 0) {
+                processRemaining();
+            }
+            h1 ^= length;
+            h2 ^= length;
+            h1 += h2;
+            h2 += h1;
+            h1 = fmix64(h1);
+            h2 = fmix64(h2);
+            h1 += h2;
+            h2 += h1;
+            byte[] bytes = new byte[BLOCK_SIZE];
+            writeLongLittleEndian(h1, bytes, 0);
+            writeLongLittleEndian(h2, bytes, 8);
+            return HashCode.fromBytes(bytes, SAFE_TO_REUSE_BYTES);
+        }
+
+        private void processBlock(byte[] bytes, int off) {
+            long k1 = readLongLittleEndian(bytes, off, 8);
+            long k2 = readLongLittleEndian(bytes, off + 8, 8);
+
+            h1 ^= mixK1(k1);
+            h1 = Long.rotateLeft(h1, 27);
+            h1 += h2;
+            h1 = h1 * 5 + 0x52dce729;
+
+            h2 ^= mixK2(k2);
+            h2 = Long.rotateLeft(h2, 31);
+            h2 += h1;
+            h2 = h2 * 5 + 0x38495ab5;
+        }
+
+        private void processRemaining() {
+            long k1 = readLongLittleEndian(block, 0, Math.min(blockLength, 8));
+            long k2 = blockLength > 8 ? readLongLittleEndian(block, 8, blockLength - 8) : 0;
+            h1 ^= mixK1(k1);
+            h2 ^= mixK2(k2);
+        }
+
+        private static long readLongLittleEndian(byte[] bytes, int off, int count) {
+            long value = 0;
+            for (int i = count - 1; i >= 0; i--) {
+                value = (value << 8) | (bytes[off + i] & 0xffL);
+            }
+            return value;
+        }
+
+        private static void writeLongLittleEndian(long value, byte[] bytes, int off) {
+            for (int i = 0; i < 8; i++) {
+                bytes[off + i] = (byte) (value >>> (8 * i));
+            }
+        }
+
+        private static long mixK1(long k1) {
+            k1 *= C1;
+            k1 = Long.rotateLeft(k1, 31);
+            k1 *= C2;
+            return k1;
+        }
+
+        private static long mixK2(long k2) {
+            k2 *= C2;
+            k2 = Long.rotateLeft(k2, 33);
+            k2 *= C1;
+            return k2;
+        }
+
+        private static long fmix64(long k) {
+            k ^= k >>> 33;
+            k *= 0xff51afd7ed558ccdL;
+            k ^= k >>> 33;
+            k *= 0xc4ceb9fe1a85ec53L;
+            k ^= k >>> 33;
+            return k;
+        }
+    }
+
     private static class DefaultHasher implements Hasher {
         private final PrimitiveHasher hasher;
 
@@ -0,0 +1,81 @@
+/*
+ * Copyright 2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.gradle.cache.internal.btree;
+
+import org.gradle.internal.serialize.BaseSerializerFactory;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Measures the lookup throughput of {@link BTreePersistentIndexedCache}.
+ *
+ * Only a single thread is measured, since the cache is not thread-safe and all its accesses are serialized by the cache access worker of a persistent cache.
+ */
+@Fork(1)
+@Warmup(iterations = 5)
+@Measurement(iterations = 5)
+@State(Scope.Benchmark)
+public class BTreePersistentIndexedCacheBenchmark {
+    private static final int ENTRIES = 100_000;
+
+    @Param({"true", "false"})
+    String memoryMappedReads;
+
+    File cacheFile;
+    BTreePersistentIndexedCache<String, String> cache;
+
+    @Setup
+    public void setup() throws IOException {
+        System.setProperty(FileBackedBlockStore.MEMORY_MAPPED_READS_PROPERTY, memoryMappedReads);
+        cacheFile = File.createTempFile("btree", ".bin");
+        cacheFile.delete();
+        BTreePersistentIndexedCache<String, String> populated = newCache();
+        for (int i = 0; i < ENTRIES; i++) {
+            populated.put("key" + i, "value" + i);
+        }
+        populated.close();
+        cache = newCache();
+    }
+
+    private BTreePersistentIndexedCache<String, String> newCache() {
+        return new BTreePersistentIndexedCache<>(cacheFile, BaseSerializerFactory.STRING_SERIALIZER, BaseSerializerFactory.STRING_SERIALIZER);
+    }
+
+    @TearDown
+    public void tearDown() {
+        cache.close();
+        cacheFile.delete();
+        System.clearProperty(FileBackedBlockStore.MEMORY_MAPPED_READS_PROPERTY);
+    }
+
+    @Benchmark
+    public String lookup() {
+        String key = "key" + ThreadLocalRandom.current().nextInt(ENTRIES);
+        return cache.get(key);
+    }
+}
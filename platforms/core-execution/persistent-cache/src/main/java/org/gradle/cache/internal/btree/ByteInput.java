@@ -24,17 +24,44 @@
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.RandomAccessFile;
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.nio.Buffer;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
 
 /**
  * Allows a stream of bytes to be read from a particular location of some backing byte stream.
+ *
+ * When memory mapped, bytes are read from a read-only mapping of the file instead of seeking in and reading from the file.
+ * The mapping is extended when reading beyond its end, so bytes written to the file after mapping it can be read as well.
+ * Replaced mappings are released right away, rather than when they are garbage collected, so at most one mapping of the file exists.
+ * Bytes beyond the largest mapping size are read from the file.
  */
 class ByteInput {
+    private static final long MAX_MAPPED_SIZE = Integer.MAX_VALUE;
+
+    private final long maxMappedSize;
+
     private final RandomAccessFile file;
     private final ResettableBufferedInputStream bufferedInputStream;
+    private final boolean memoryMapped;
+    private MappedByteBuffer mapping;
     private CountingInputStream countingInputStream;
 
     public ByteInput(RandomAccessFile file) {
+        this(file, false);
+    }
+
+    public ByteInput(RandomAccessFile file, boolean memoryMapped) {
+        this(file, memoryMapped, MAX_MAPPED_SIZE);
+    }
+
+    ByteInput(RandomAccessFile file, boolean memoryMapped, long maxMappedSize) {
         this.file = file;
+        this.memoryMapped = memoryMapped;
+        this.maxMappedSize = maxMappedSize;
         bufferedInputStream = new ResettableBufferedInputStream(new RandomAccessFileInputStream(file));
     }
 
@@ -42,9 +69,15 @@ public ByteInput(RandomAccessFile file) {
      * Starts reading from the given offset.
      */
     public DataInputStream start(long offset) throws IOException {
-        file.seek(offset);
-        bufferedInputStream.clear();
-        countingInputStream = new CountingInputStream(bufferedInputStream);
+        InputStream source;
+        if (memoryMapped && offset < maxMappedSize) {
+            source = new MappedInputStream(offset);
+        } else {
+            file.seek(offset);
+            bufferedInputStream.clear();
+            source = bufferedInputStream;
+        }
+        countingInputStream = new CountingInputStream(source);
         return new DataInputStream(countingInputStream);
     }
 
@@ -62,6 +95,158 @@ public void done() {
         countingInputStream = null;
     }
 
+    /**
+     * Discards the memory mapping of the file. Must be called before the file is truncated, so no bytes beyond its new end are read.
+     */
+    public void unmap() {
+        if (mapping != null) {
+            MappingRelease.release(mapping);
+            mapping = null;
+        }
+    }
+
+    /**
+     * Maps the file so that the byte at the given position is mapped, if it exists.
+     */
+    private boolean mapUpTo(long position) throws IOException {
+        if (mapping != null && position < mapping.capacity()) {
+            return true;
+        }
+        long size = Math.min(file.length(), maxMappedSize);
+        if (position >= size) {
+            return false;
+        }
+        unmap();
+        mapping = file.getChannel().map(FileChannel.MapMode.READ_ONLY, 0, size);
+        return true;
+    }
+
+    private class MappedInputStream extends InputStream {
+        private ByteBuffer buffer;
+        private InputStream fileInput;
+        private long position;
+
+        MappedInputStream(long position) {
+            this.position = position;
+        }
+
+        @Override
+        public int read() throws IOException {
+            if (fileInput != null || position >= maxMappedSize) {
+                return readFromFile();
+            }
+            if (!ensureAvailable()) {
+                return -1;
+            }
+            position++;
+            return buffer.get() & 0xff;
+        }
+
+        @Override
+        public int read(byte[] bytes, int off, int len) throws IOException {
+            if (len == 0) {
+                return 0;
+            }
+            if (fileInput != null || position >= maxMappedSize) {
+                return readFromFile(bytes, off, len);
+            }
+            if (!ensureAvailable()) {
+                return -1;
+            }
+            int count = Math.min(len, buffer.remaining());
+            buffer.get(bytes, off, count);
+            position += count;
+            return count;
+        }
+
+        private boolean ensureAvailable() throws IOException {
+            if (buffer != null && buffer.hasRemaining()) {
+                return true;
+            }
+            if (!mapUpTo(position)) {
+                return false;
+            }
+            buffer = mapping.duplicate();
+            castBuffer(buffer).position((int) position);
+            return true;
+        }
+
+        private int readFromFile() throws IOException {
+            return fileInput().read();
+        }
+
+        private int readFromFile(byte[] bytes, int off, int len) throws IOException {
+            return fileInput().read(bytes, off, len);
+        }
+
+        /**
+         * Continues reading from the file once the end of the largest possible mapping is reached.
+         */
+        private InputStream fileInput() throws IOException {
+            if (fileInput == null) {
+                buffer = null;
+                file.seek(position);
+                bufferedInputStream.clear();
+                fileInput = bufferedInputStream;
+            }
+            return fileInput;
+        }
+    }
+
+    /**
+     * Releases mappings explicitly, as the JDK only releases them when they are garbage collected.
+     * When that is not possible on the current JVM, mappings are left to the garbage collector.
+     */
+    private static class MappingRelease {
+        private static final Method INVOKE_CLEANER;
+        private static final Object UNSAFE;
+
+        static {
+            Method invokeCleaner = null;
+            Object unsafe = null;
+            try {
+                // Java 9 and later
+                Class<?> unsafeClass = Class.forName("sun.misc.Unsafe");
+                invokeCleaner = unsafeClass.getMethod("invokeCleaner", ByteBuffer.class);
+                Field theUnsafe = unsafeClass.getDeclaredField("theUnsafe");
+                theUnsafe.setAccessible(true);
+                unsafe = theUnsafe.get(null);
+            } catch (Exception e) {
+                invokeCleaner = null;
+                unsafe = null;
+            }
+            INVOKE_CLEANER = invokeCleaner;
+            UNSAFE = unsafe;
+        }
+
+        static void release(MappedByteBuffer mapping) {
+            try {
+                if (INVOKE_CLEANER != null) {
+                    INVOKE_CLEANER.invoke(UNSAFE, mapping);
+                } else {
+                    // Java 8
+                    Method cleanerMethod = mapping.getClass().getMethod("cleaner");
+                    cleanerMethod.setAccessible(true);
+                    Object cleaner = cleanerMethod.invoke(mapping);
+                    if (cleaner != null) {
+                        cleaner.getClass().getMethod("clean").invoke(cleaner);
+                    }
+                }
+            } catch (Exception e) {
+                // Left to the garbage collector
+            }
+        }
+    }
+
+    /**
+     * Without this cast, when the code compiled by Java 9+ is executed on Java 8, it will throw
+     * java.lang.NoSuchMethodError: Method position(I)Ljava/nio/ByteBuffer; does not exist in class java.nio.ByteBuffer
+     */
+    @SuppressWarnings("RedundantCast")
+    private static <T extends Buffer> Buffer castBuffer(T byteBuffer) {
+        return (Buffer) byteBuffer;
+    }
+
     private static class ResettableBufferedInputStream extends BufferedInputStream {
         ResettableBufferedInputStream(InputStream input) {
             super(input);
@@ -16,6 +16,7 @@
 package org.gradle.cache.internal.btree;
 
 import org.gradle.api.UncheckedIOException;
+import org.gradle.internal.os.OperatingSystem;
 
 import java.io.DataInputStream;
 import java.io.DataOutputStream;
@@ -25,6 +26,11 @@
 import java.io.RandomAccessFile;
 
 public class FileBackedBlockStore implements BlockStore {
+    /**
+     * System property to enable reading blocks from a memory mapping of the cache file.
+     */
+    public static final String MEMORY_MAPPED_READS_PROPERTY = "org.gradle.internal.btree.memory-mapped-reads";
+
     private final File cacheFile;
     private RandomAccessFile file;
     private ByteOutput output;
@@ -49,7 +55,7 @@ public void open(Runnable runnable, Factory factory) {
             cacheFile.getParentFile().mkdirs();
             file = openRandomAccessFile();
             output = new ByteOutput(file);
-            input = new ByteInput(file);
+            input = new ByteInput(file, isMemoryMappedReadsEnabled());
             currentFileSize = file.length();
             nextBlock = currentFileSize;
             if (currentFileSize == 0) {
@@ -60,6 +66,15 @@ public void open(Runnable runnable, Factory factory) {
         }
     }
 
+    /**
+     * Memory mapped reads avoid a seek and read per block. They are off by default, and are never used on Windows,
+     * where a file that is mapped cannot be truncated or deleted until the mapping is released.
+     */
+    private static boolean isMemoryMappedReadsEnabled() {
+        return !OperatingSystem.current().isWindows()
+            && Boolean.getBoolean(MEMORY_MAPPED_READS_PROPERTY);
+    }
+
     private RandomAccessFile openRandomAccessFile() throws FileNotFoundException {
         try {
             return randomAccessFile("rw");
@@ -75,6 +90,7 @@ private RandomAccessFile randomAccessFile(String mode) throws FileNotFoundExcept
     @Override
     public void close() {
         try {
+            input.unmap();
             file.close();
         } catch (IOException e) {
             throw new UncheckedIOException(e);
@@ -84,6 +100,7 @@ public void close() {
     @Override
     public void clear() {
         try {
+            input.unmap();
             file.setLength(0);
             currentFileSize = 0;
         } catch (IOException e) {
@@ -65,4 +65,86 @@ class ByteInputTest extends Specification {
         then:
         EOFException e = thrown()
     }
+
+    def "can read from memory mapping of file"() {
+        given:
+        def mappedInput = new ByteInput(file, true)
+        file.seek(0)
+        file.writeInt(123)
+        file.writeInt(321)
+
+        expect:
+        def stream = mappedInput.start(4)
+        stream.readInt() == 321
+        mappedInput.getBytesRead() == 4
+        mappedInput.done()
+
+        def stream2 = mappedInput.start(0)
+        stream2.readInt() == 123
+        mappedInput.done()
+    }
+
+    def "can read bytes written after file has been memory mapped"() {
+        given:
+        def mappedInput = new ByteInput(file, true)
+        file.seek(0)
+        file.writeInt(123)
+        mappedInput.start(0).readInt()
+        mappedInput.done()
+
+        when:
+        file.writeInt(321)
+        file.writeInt(456)
+        def stream = mappedInput.start(2)
+
+        then:
+        stream.readShort() == 123
+        stream.readInt() == 321
+        stream.readInt() == 456
+    }
+
+    def "cannot read beyond end of memory mapped file"() {
+        given:
+        def mappedInput = new ByteInput(file, true)
+        file.writeInt(123)
+
+        when:
+        mappedInput.start(2).readInt()
+
+        then:
+        EOFException e = thrown()
+    }
+
+    def "can read across the end of the largest memory mapping"() {
+        given:
+        def mappedInput = new ByteInput(file, true, 6)
+        file.writeInt(123)
+        file.writeInt(321)
+        file.writeInt(456)
+
+        when:
+        def stream = mappedInput.start(4)
+
+        then:
+        stream.readInt() == 321
+        stream.readInt() == 456
+        mappedInput.getBytesRead() == 8
+    }
+
+    def "can read after the memory mapping has been released"() {
+        given:
+        def mappedInput = new ByteInput(file, true)
+        file.writeInt(123)
+        mappedInput.start(0).readInt()
+        mappedInput.done()
+
+        when:
+        mappedInput.unmap()
+        file.writeInt(321)
+        def stream = mappedInput.start(0)
+
+        then:
+        stream.readInt() == 123
+        stream.readInt() == 321
+    }
 }
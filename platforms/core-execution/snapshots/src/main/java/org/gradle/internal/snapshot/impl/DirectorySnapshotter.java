@@ -56,7 +56,14 @@
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.io.InterruptedIOException;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.FutureTask;
 import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.function.Consumer;
 import java.util.function.Predicate;
 
@@ -64,9 +71,16 @@
 
 /**
  * For creating {@link DirectorySnapshot}s of directories.
+ *
+ * When created with an {@link Executor}, the subdirectories of unfiltered snapshots are walked concurrently by that executor.
+ * Each subdirectory is snapshotted on its own and added to the snapshot of its parent once complete,
+ * so the resulting snapshots are the same as the ones produced by walking the tree sequentially.
+ * A subdirectory that has not been picked up by the executor when its parent needs it is walked by the thread waiting for it,
+ * so a walk never waits for queued work, and a bounded executor cannot deadlock.
  */
 public class DirectorySnapshotter {
     private static final EnumSet<FileVisitOption> DONT_FOLLOW_SYMLINKS = EnumSet.noneOf(FileVisitOption.class);
+    private static final int MAX_QUEUED_SUBTREES = 2 * Runtime.getRuntime().availableProcessors();
     private static final SymbolicLinkMapping EMPTY_SYMBOLIC_LINK_MAPPING = new SymbolicLinkMapping() {
 
         @Override
@@ -89,12 +103,23 @@ public Iterable<String> getRemappedSegments(Iterable<String> segments) {
     private final Interner<String> stringInterner;
     private final DefaultExcludes defaultExcludes;
     private final DirectorySnapshotterStatistics.Collector collector;
+    @Nullable
+    private final Executor walkerExecutor;
+    private final AtomicInteger queuedSubtrees = new AtomicInteger();
 
     public DirectorySnapshotter(FileHasher hasher, Interner<String> stringInterner, Collection<String> defaultExcludes, DirectorySnapshotterStatistics.Collector collector) {
+        this(hasher, stringInterner, defaultExcludes, collector, null);
+    }
+
+    /**
+     * @param walkerExecutor the executor to walk subdirectories in concurrently, or {@code null} to walk directories sequentially.
+     */
+    public DirectorySnapshotter(FileHasher hasher, Interner<String> stringInterner, Collection<String> defaultExcludes, DirectorySnapshotterStatistics.Collector collector, @Nullable Executor walkerExecutor) {
         this.hasher = hasher;
         this.stringInterner = stringInterner;
         this.defaultExcludes = new DefaultExcludes(defaultExcludes);
         this.collector = collector;
+        this.walkerExecutor = walkerExecutor;
     }
 
     /**
@@ -119,11 +144,19 @@ public FileSystemLocationSnapshot snapshot(
         Map<String, ? extends FileSystemLocationSnapshot> previouslyKnownSnapshots,
         Consumer<FileSystemLocationSnapshot> unfilteredSnapshotRecorder
     ) {
+        SubtreeWalks subtreeWalks = walkerExecutor == null ? null : new SubtreeWalks(walkerExecutor, queuedSubtrees);
         try {
             AtomicBoolean hasBeenFiltered = new AtomicBoolean();
             Path rootPath = Paths.get(absolutePath);
-            PathVisitor visitor = new PathVisitor(predicate, hasBeenFiltered, hasher, stringInterner, defaultExcludes, collector, EMPTY_SYMBOLIC_LINK_MAPPING, previouslyKnownSnapshots, unfilteredSnapshotRecorder);
-            Files.walkFileTree(rootPath, DONT_FOLLOW_SYMLINKS, Integer.MAX_VALUE, visitor);
+            PathVisitor visitor = new PathVisitor(predicate, hasBeenFiltered, hasher, stringInterner, defaultExcludes, collector, EMPTY_SYMBOLIC_LINK_MAPPING, previouslyKnownSnapshots, unfilteredSnapshotRecorder, subtreeWalks);
+            try {
+                Files.walkFileTree(rootPath, DONT_FOLLOW_SYMLINKS, Integer.MAX_VALUE, visitor);
+            } catch (IOException | RuntimeException | Error e) {
+                if (subtreeWalks != null) {
+                    subtreeWalks.cancel();
+                }
+                throw e;
+            }
             FileSystemLocationSnapshot result = visitor.getResult();
             if (!hasBeenFiltered.get()) {
                 unfilteredSnapshotRecorder.accept(result);
@@ -266,6 +299,9 @@ private static class PathVisitor extends DirectorySnapshotterStatistics.Collecti
         private final Set<FileSystemLocationSnapshot> filteredDirectorySnapshots = new HashSet<>();
         private final ImmutableMap<String, ? extends FileSystemLocationSnapshot> previouslyKnownSnapshots;
         private final Consumer<FileSystemLocationSnapshot> unfilteredSnapshotRecorder;
+        @Nullable
+        private final SubtreeWalks subtreeWalks;
+        private final Deque<SubtreeSnapshotTask> forkedSubtrees = new ArrayDeque<>();
 
         public PathVisitor(
             @Nullable SnapshottingFilter.DirectoryWalkerPredicate predicate,
@@ -276,9 +312,26 @@ public PathVisitor(
             DirectorySnapshotterStatistics.Collector statisticsCollector,
             SymbolicLinkMapping symbolicLinkMapping,
             Map<String, ? extends FileSystemLocationSnapshot> previouslyKnownSnapshots,
-            Consumer<FileSystemLocationSnapshot> unfilteredSnapshotRecorder
+            Consumer<FileSystemLocationSnapshot> unfilteredSnapshotRecorder,
+            @Nullable SubtreeWalks subtreeWalks
         ) {
-            super(statisticsCollector);
+            this(predicate, hasBeenFiltered, hasher, stringInterner, defaultExcludes, statisticsCollector, true, symbolicLinkMapping, previouslyKnownSnapshots, unfilteredSnapshotRecorder, subtreeWalks);
+        }
+
+        private PathVisitor(
+            @Nullable SnapshottingFilter.DirectoryWalkerPredicate predicate,
+            AtomicBoolean hasBeenFiltered,
+            FileHasher hasher,
+            Interner<String> stringInterner,
+            DefaultExcludes defaultExcludes,
+            DirectorySnapshotterStatistics.Collector statisticsCollector,
+            boolean newHierarchy,
+            SymbolicLinkMapping symbolicLinkMapping,
+            Map<String, ? extends FileSystemLocationSnapshot> previouslyKnownSnapshots,
+            Consumer<FileSystemLocationSnapshot> unfilteredSnapshotRecorder,
+            @Nullable SubtreeWalks subtreeWalks
+        ) {
+            super(statisticsCollector, newHierarchy);
             this.builder = FilteredTrackingMerkleDirectorySnapshotBuilder.sortingRequired(this::recordUnfilteredSnapshot);
             this.predicate = predicate;
             this.hasBeenFiltered = hasBeenFiltered;
@@ -288,6 +341,7 @@ public PathVisitor(
             this.symbolicLinkMapping = symbolicLinkMapping;
             this.previouslyKnownSnapshots = ImmutableMap.copyOf(previouslyKnownSnapshots);
             this.unfilteredSnapshotRecorder = unfilteredSnapshotRecorder;
+            this.subtreeWalks = subtreeWalks;
         }
 
         private void recordUnfilteredSnapshot(FileSystemLocationSnapshot snapshot) {
@@ -298,6 +352,9 @@ private void recordUnfilteredSnapshot(FileSystemLocationSnapshot snapshot) {
 
         @Override
         protected FileVisitResult doPreVisitDirectory(Path dir, BasicFileAttributes attrs) {
+            if (subtreeWalks != null && subtreeWalks.isCancelled()) {
+                return FileVisitResult.TERMINATE;
+            }
             String fileName = getInternedFileName(dir);
             pathTracker.enter(fileName);
             if (shouldVisitDirectory(dir, fileName)) {
@@ -315,6 +372,12 @@ protected FileVisitResult doPreVisitDirectory(Path dir, BasicFileAttributes attr
                     }
                 }
 
+                if (canForkSubtree()) {
+                    forkSubtree(dir);
+                    pathTracker.leave();
+                    return FileVisitResult.SKIP_SUBTREE;
+                }
+
                 builder.enterDirectory(AccessType.DIRECT, internedRemappedAbsolutePath, fileName, INCLUDE_EMPTY_DIRS);
                 parentDirectories.addFirst(dir.toString());
                 return FileVisitResult.CONTINUE;
@@ -333,6 +396,7 @@ protected FileVisitResult doPostVisitDirectory(Path dir, IOException exc) {
             if (isNotFileSystemLoopException(exc)) {
                 throw new UncheckedIOException(String.format("Could not read directory path '%s'.", dir), exc);
             }
+            joinForkedSubtrees();
             boolean currentLevelComplete = builder.isCurrentLevelUnfiltered();
             FileSystemLocationSnapshot currentLevel = builder.leaveDirectory();
             if (!currentLevelComplete) {
@@ -344,6 +408,9 @@ protected FileVisitResult doPostVisitDirectory(Path dir, IOException exc) {
 
         @Override
         protected FileVisitResult doVisitFile(Path file, BasicFileAttributes attrs) {
+            if (subtreeWalks != null && subtreeWalks.isCancelled()) {
+                return FileVisitResult.TERMINATE;
+            }
             String internedFileName = getInternedFileName(file);
             pathTracker.enter(internedFileName);
             try {
@@ -395,7 +462,8 @@ private DirectorySnapshot followSymlink(Path file, String internedFileName, Atom
                         collector,
                         symbolicLinkMapping.withNewMapping(file.toString(), targetDirString, pathTracker),
                         previouslyKnownSnapshots,
-                        unfilteredSnapshotRecorder);
+                        unfilteredSnapshotRecorder,
+                        subtreeWalks);
                     Files.walkFileTree(targetDir, EnumSet.noneOf(FileVisitOption.class), Integer.MAX_VALUE, subtreeVisitor);
                     return (DirectorySnapshot) subtreeVisitor.getResult();
                 } else {
@@ -406,6 +474,55 @@ private DirectorySnapshot followSymlink(Path file, String internedFileName, Atom
             }
         }
 
+        /**
+         * Only unfiltered walks are forked, since the predicate and the recorder of unfiltered snapshots
+         * are not required to be thread-safe. The root of a walk is never forked.
+         * Subtrees are walked inline when enough subtrees are already waiting for the executor.
+         */
+        private boolean canForkSubtree() {
+            if (subtreeWalks == null || predicate != null || pathTracker.isRoot()) {
+                return false;
+            }
+            return subtreeWalks.tryReserveQueuedSubtree();
+        }
+
+        private void forkSubtree(Path dir) {
+            PathVisitor subtreeVisitor = new PathVisitor(
+                null,
+                new AtomicBoolean(),
+                hasher,
+                stringInterner,
+                defaultExcludes,
+                collector,
+                false,
+                symbolicLinkMapping,
+                previouslyKnownSnapshots,
+                unfilteredSnapshotRecorder,
+                subtreeWalks);
+            // Needed to detect cycles introduced by symlinks within the subtree
+            subtreeVisitor.parentDirectories.addAll(parentDirectories);
+            SubtreeSnapshotTask task = new SubtreeSnapshotTask(dir, subtreeVisitor, parentDirectories.size(), subtreeWalks);
+            forkedSubtrees.addLast(task);
+            subtreeWalks.submit(task);
+        }
+
+        /**
+         * Adds the snapshots of the subtrees forked from the directory currently being left to that directory.
+         */
+        private void joinForkedSubtrees() {
+            int depth = parentDirectories.size();
+            while (!forkedSubtrees.isEmpty() && forkedSubtrees.getLast().depth == depth) {
+                SubtreeSnapshotTask task = forkedSubtrees.removeLast();
+                DirectorySnapshot subtreeSnapshot = task.joinSnapshot();
+                builder.visitDirectory(subtreeSnapshot);
+                if (task.visitor.hasBeenFiltered.get()) {
+                    filteredDirectorySnapshots.add(subtreeSnapshot);
+                    builder.markCurrentLevelAsFiltered();
+                    hasBeenFiltered.set(true);
+                }
+            }
+        }
+
         private boolean introducesCycle(String targetDirString) {
             return parentDirectories.contains(targetDirString);
         }
@@ -521,4 +638,125 @@ public FileSystemLocationSnapshot getResult() {
             return builder.getResult();
         }
     }
+
+    /**
+     * The subtrees forked by the visitors of a single snapshot, so they can be cancelled when the snapshot fails.
+     */
+    private static class SubtreeWalks {
+        private final Executor executor;
+        private final AtomicInteger queuedSubtrees;
+        private final Queue<SubtreeSnapshotTask> forkedSubtrees = new ConcurrentLinkedQueue<>();
+        private volatile boolean cancelled;
+
+        public SubtreeWalks(Executor executor, AtomicInteger queuedSubtrees) {
+            this.executor = executor;
+            this.queuedSubtrees = queuedSubtrees;
+        }
+
+        public boolean tryReserveQueuedSubtree() {
+            while (true) {
+                int queued = queuedSubtrees.get();
+                if (queued >= MAX_QUEUED_SUBTREES) {
+                    return false;
+                }
+                if (queuedSubtrees.compareAndSet(queued, queued + 1)) {
+                    return true;
+                }
+            }
+        }
+
+        public void releaseQueuedSubtree() {
+            queuedSubtrees.decrementAndGet();
+        }
+
+        public void submit(SubtreeSnapshotTask task) {
+            forkedSubtrees.add(task);
+            try {
+                executor.execute(task);
+            } catch (RuntimeException e) {
+                // The executor is not accepting work, so the subtree is walked when it is joined
+            }
+        }
+
+        public boolean isCancelled() {
+            return cancelled;
+        }
+
+        /**
+         * Stops the forked subtrees: the ones not yet started are never walked, the running ones terminate at the next file they visit.
+         */
+        public void cancel() {
+            cancelled = true;
+            SubtreeSnapshotTask task;
+            while ((task = forkedSubtrees.poll()) != null) {
+                task.cancel(false);
+            }
+        }
+    }
+
+    private static class SubtreeSnapshotTask extends FutureTask<DirectorySnapshot> {
+        private final Path dir;
+        private final PathVisitor visitor;
+        private final int depth;
+        private final SubtreeWalks subtreeWalks;
+        private final AtomicBoolean started = new AtomicBoolean();
+
+        public SubtreeSnapshotTask(Path dir, PathVisitor visitor, int depth, SubtreeWalks subtreeWalks) {
+            super(() -> {
+                try {
+                    Files.walkFileTree(dir, DONT_FOLLOW_SYMLINKS, Integer.MAX_VALUE, visitor);
+                } catch (IOException e) {
+                    throw new UncheckedIOException(String.format("Could not list contents of directory '%s'.", dir), e);
+                }
+                return (DirectorySnapshot) visitor.getResult();
+            });
+            this.dir = dir;
+            this.visitor = visitor;
+            this.depth = depth;
+            this.subtreeWalks = subtreeWalks;
+        }
+
+        @Override
+        public void run() {
+            if (markStarted()) {
+                super.run();
+            }
+        }
+
+        @Override
+        public boolean cancel(boolean mayInterruptIfRunning) {
+            markStarted();
+            return super.cancel(mayInterruptIfRunning);
+        }
+
+        private boolean markStarted() {
+            if (started.compareAndSet(false, true)) {
+                subtreeWalks.releaseQueuedSubtree();
+                return true;
+            }
+            return false;
+        }
+
+        /**
+         * Walks the subtree on the calling thread when the executor has not started it yet, and waits for it otherwise.
+         */
+        public DirectorySnapshot joinSnapshot() {
+            run();
+            try {
+                return get();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new UncheckedIOException(new InterruptedIOException(String.format("Interrupted while snapshotting directory '%s'.", dir)));
+            } catch (ExecutionException e) {
+                Throwable cause = e.getCause();
+                if (cause instanceof RuntimeException) {
+                    throw (RuntimeException) cause;
+                }
+                if (cause instanceof Error) {
+                    throw (Error) cause;
+                }
+                throw new UncheckedIOException(new IOException(cause));
+            }
+        }
+    }
 }
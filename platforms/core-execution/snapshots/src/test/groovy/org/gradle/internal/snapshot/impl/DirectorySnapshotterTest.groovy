@@ -23,6 +23,7 @@ import org.gradle.api.tasks.util.PatternSet
 import org.gradle.internal.file.FileMetadata
 import org.gradle.internal.file.FileMetadata.AccessType
 import org.gradle.internal.fingerprint.impl.PatternSetSnapshottingFilter
+import org.gradle.internal.hash.FileHasher
 import org.gradle.internal.hash.TestFileHasher
 import org.gradle.internal.hash.TestHashCodes
 import org.gradle.internal.snapshot.DirectorySnapshot
@@ -42,6 +43,8 @@ import spock.lang.Issue
 import spock.lang.Specification
 
 import java.nio.file.Paths
+import java.util.concurrent.Executor
+import java.util.concurrent.Executors
 import java.util.function.Consumer
 
 @UsesNativeServices
@@ -57,6 +60,11 @@ class DirectorySnapshotterTest extends Specification {
     Consumer<FileSystemLocationSnapshot> unfilteredSubSnapshotsCollector = { FileSystemLocationSnapshot snapshot ->
         unfilteredSubsnapshots.add(snapshot)
     }
+    def walkerExecutor = Executors.newFixedThreadPool(2)
+
+    def cleanup() {
+        walkerExecutor.shutdownNow()
+    }
 
     def "should snapshot without filters"() {
         given:
@@ -530,6 +538,95 @@ class DirectorySnapshotterTest extends Specification {
         pipe.delete()
     }
 
+    def "walking subdirectories in parallel produces the same snapshot as walking sequentially"() {
+        given:
+        def rootDir = tmpDir.createDir("root")
+        (1..5).each { i ->
+            (1..5).each { j ->
+                rootDir.file("dir$i/sub$j/file.txt").text = "$i-$j"
+                rootDir.file("dir$i/sub$j/nested/other.txt").text = "$j-$i"
+            }
+        }
+        rootDir.file("dir1/sub1/cycle").createLink(rootDir.file("dir1"))
+        rootDir.file("empty").createDir()
+        def parallelSnapshotter = new DirectorySnapshotter(fileHasher, new StringInterner(), [], statisticsCollector, walkerExecutor)
+
+        when:
+        def sequential = directorySnapshotter.snapshot(rootDir.absolutePath, null, [:], {})
+        def parallel = parallelSnapshotter.snapshot(rootDir.absolutePath, null, [:], unfilteredSubSnapshotsCollector)
+
+        then:
+        parallel.hash == sequential.hash
+        SnapshotVisitorUtil.getRelativePaths(parallel, true) as Set == SnapshotVisitorUtil.getRelativePaths(sequential, true) as Set
+        unfilteredSubsnapshots == [parallel]
+    }
+
+    def "failure in subdirectory walked in parallel is reported"() {
+        given:
+        def rootDir = tmpDir.createDir("root")
+        rootDir.file("dir/sub/file.txt").createFile()
+        def failure = new RuntimeException("broken")
+        def failingHasher = Stub(FileHasher) {
+            hash(_, _, _) >> { throw failure }
+        }
+        def parallelSnapshotter = new DirectorySnapshotter(failingHasher, new StringInterner(), [], statisticsCollector, walkerExecutor)
+
+        when:
+        parallelSnapshotter.snapshot(rootDir.absolutePath, null, [:], unfilteredSubSnapshotsCollector)
+
+        then:
+        def e = thrown(RuntimeException)
+        e.is(failure)
+    }
+
+    def "subdirectories not picked up by the executor are walked by the thread joining them"() {
+        given:
+        def rootDir = tmpDir.createDir("root")
+        rootDir.file("dir1/sub/file.txt").text = "1"
+        rootDir.file("dir2/sub/file.txt").text = "2"
+        def queued = []
+        def parallelSnapshotter = new DirectorySnapshotter(fileHasher, new StringInterner(), [], statisticsCollector, { queued << it } as Executor)
+
+        when:
+        def parallel = parallelSnapshotter.snapshot(rootDir.absolutePath, null, [:], {})
+        def sequential = directorySnapshotter.snapshot(rootDir.absolutePath, null, [:], {})
+
+        then:
+        !queued.empty
+        parallel.hash == sequential.hash
+    }
+
+    def "subdirectories forked from a failed walk are cancelled"() {
+        given:
+        def rootDir = tmpDir.createDir("root")
+        (1..3).each { rootDir.file("dir$it/file.txt").createFile() }
+        def failure = new RuntimeException("broken")
+        def hashedFiles = 0
+        def failingHasher = Stub(FileHasher) {
+            hash(_, _, _) >> {
+                hashedFiles++
+                throw failure
+            }
+        }
+        def queued = []
+        def parallelSnapshotter = new DirectorySnapshotter(failingHasher, new StringInterner(), [], statisticsCollector, { queued << it } as Executor)
+
+        when:
+        parallelSnapshotter.snapshot(rootDir.absolutePath, null, [:], {})
+
+        then:
+        def e = thrown(RuntimeException)
+        e.is(failure)
+        !queued.empty
+        hashedFiles == 1
+
+        when:
+        queued.each { it.run() }
+
+        then:
+        hashedFiles == 1
+    }
+
     def "default excludes are correctly parsed"() {
         def defaultExcludes = new DirectorySnapshotter.DefaultExcludes(DirectoryScanner.getDefaultExcludes() as List)
 
@@ -22,6 +22,9 @@
 import org.gradle.api.logging.Logger;
 import org.gradle.api.logging.Logging;
 import org.gradle.internal.UncheckedException;
+import org.gradle.internal.concurrent.CompositeStoppable;
+import org.gradle.internal.concurrent.ExecutorFactory;
+import org.gradle.internal.concurrent.ManagedExecutor;
 import org.gradle.internal.concurrent.Stoppable;
 import org.gradle.internal.event.ListenerManager;
 import org.gradle.internal.exceptions.DefaultMultiCauseException;
@@ -35,13 +38,20 @@
 import org.gradle.process.internal.worker.WorkerProcess;
 import org.gradle.util.internal.CollectionUtils;
 
+import javax.annotation.Nullable;
 import java.util.ArrayList;
 import java.util.Iterator;
 import java.util.List;
+import java.util.concurrent.Future;
 
 import static java.util.Comparator.comparingInt;
 
 public class WorkerDaemonClientsManager implements Stoppable {
+    /**
+     * When set, the session-scoped worker daemons that were used by a build session are started again in the background
+     * when the next build session starts, so that the first work items of the next session do not wait for a worker to start.
+     */
+    public static final String PREWARM_SESSION_WORKERS_PROPERTY = "org.gradle.internal.workers.prewarm-session-workers";
 
     private static final Logger LOGGER = Logging.getLogger(WorkerDaemonClientsManager.class);
 
@@ -58,9 +68,33 @@ public class WorkerDaemonClientsManager implements Stoppable {
     private final OutputEventListener logLevelChangeEventListener;
     private final WorkerDaemonExpiration workerDaemonExpiration;
     private final MemoryManager memoryManager;
+    private final ExecutorFactory executorFactory;
+    private final boolean prewarmSessionWorkers;
+    private final List<DaemonForkOptions> sessionWorkersToPrewarm = new ArrayList<>();
+    private final List<Future<?>> pendingPrewarms = new ArrayList<>();
+    private ManagedExecutor prewarmExecutor;
+    // The session that workers are currently started in advance for, null when no session is running
+    private Object prewarmSession;
+    private boolean stopped;
+    private int idleClientRequests;
+    private int newClientRequests;
     private volatile LogLevel currentLogLevel;
 
     public WorkerDaemonClientsManager(WorkerDaemonStarter workerDaemonStarter, ListenerManager listenerManager, LoggingManagerInternal loggingManager, MemoryManager memoryManager, OsMemoryInfo memoryInfo) {
+        this(workerDaemonStarter, listenerManager, loggingManager, memoryManager, memoryInfo, null, false);
+    }
+
+    public WorkerDaemonClientsManager(
+        WorkerDaemonStarter workerDaemonStarter,
+        ListenerManager listenerManager,
+        LoggingManagerInternal loggingManager,
+        MemoryManager memoryManager,
+        OsMemoryInfo memoryInfo,
+        @Nullable ExecutorFactory executorFactory,
+        boolean prewarmSessionWorkers
+    ) {
+        this.executorFactory = executorFactory;
+        this.prewarmSessionWorkers = prewarmSessionWorkers && executorFactory != null;
         this.workerDaemonStarter = workerDaemonStarter;
         this.listenerManager = listenerManager;
         this.loggingManager = loggingManager;
@@ -77,7 +111,13 @@ public WorkerDaemonClientsManager(WorkerDaemonStarter workerDaemonStarter, Liste
 
     // TODO - should supply and check for the same parameters as passed to reserveNewClient()
     public WorkerDaemonClient reserveIdleClient(DaemonForkOptions forkOptions) {
-        return reserveIdleClient(forkOptions, idleClients);
+        WorkerDaemonClient client = reserveIdleClient(forkOptions, idleClients);
+        if (client != null) {
+            synchronized (lock) {
+                idleClientRequests++;
+            }
+        }
+        return client;
     }
 
     WorkerDaemonClient reserveIdleClient(DaemonForkOptions forkOptions, List<WorkerDaemonClient> clients) {
@@ -105,6 +145,7 @@ public WorkerDaemonClient reserveNewClient(DaemonForkOptions forkOptions) {
         WorkerDaemonClient client = workerDaemonStarter.startDaemon(forkOptions, workerProcessCleanupAction);
         synchronized (lock) {
             allClients.add(client);
+            newClientRequests++;
         }
         return client;
     }
@@ -119,6 +160,13 @@ public void release(WorkerDaemonClient client) {
 
     @Override
     public void stop() {
+        ManagedExecutor executor;
+        synchronized (lock) {
+            stopped = true;
+            executor = prewarmExecutor;
+        }
+        // Wait for workers that are being started in the background outside the lock, as starting them needs the lock
+        CompositeStoppable.stoppable(executor).stop();
         synchronized (lock) {
             stopWorkers(allClients);
             allClients.clear();
@@ -179,14 +227,93 @@ private void stopWorkers(List<WorkerDaemonClient> clientsToStop) {
         }
     }
 
+    private void prewarm(DaemonForkOptions forkOptions, Object session) {
+        synchronized (lock) {
+            if (!isPrewarmingFor(session)) {
+                return;
+            }
+        }
+        long maxHeapSize = WorkerDaemonExpiration.getMaximumHeapSize(forkOptions, getTotalPhysicalMemory());
+        if (maxHeapSize != -1 && maxHeapSize > getFreePhysicalMemory()) {
+            LOGGER.debug("Not starting worker daemon in advance, as there is not enough free memory.");
+            return;
+        }
+        WorkerDaemonClient client = workerDaemonStarter.startDaemon(forkOptions, workerProcessCleanupAction);
+        synchronized (lock) {
+            if (isPrewarmingFor(session)) {
+                allClients.add(client);
+                idleClients.add(client);
+                return;
+            }
+        }
+        // The session has completed while the worker was starting, so it would not be stopped with the session's workers
+        client.stop();
+    }
+
+    private boolean isPrewarmingFor(Object session) {
+        return !stopped && prewarmSession == session;
+    }
+
+    private long getFreePhysicalMemory() {
+        try {
+            return memoryInfo.getOsSnapshot().getPhysicalMemory().getFree();
+        } catch (UnsupportedOperationException e) {
+            return Long.MAX_VALUE;
+        }
+    }
+
     private class StopSessionScopedWorkers implements BuildSessionLifecycleListener {
+        @Override
+        public void afterStart() {
+            if (!prewarmSessionWorkers) {
+                return;
+            }
+            synchronized (lock) {
+                if (stopped || sessionWorkersToPrewarm.isEmpty()) {
+                    return;
+                }
+                if (prewarmExecutor == null) {
+                    prewarmExecutor = executorFactory.create("Worker daemon prewarm");
+                }
+                Object session = new Object();
+                prewarmSession = session;
+                for (DaemonForkOptions forkOptions : sessionWorkersToPrewarm) {
+                    pendingPrewarms.add(prewarmExecutor.submit(() -> prewarm(forkOptions, session)));
+                }
+                sessionWorkersToPrewarm.clear();
+            }
+        }
+
         @Override
         public void beforeComplete() {
             synchronized (lock) {
+                // Workers still being started in advance for this session are stopped by the prewarm task once started
+                prewarmSession = null;
+                for (Future<?> prewarm : pendingPrewarms) {
+                    prewarm.cancel(false);
+                }
+                pendingPrewarms.clear();
                 List<WorkerDaemonClient> sessionScopedClients = CollectionUtils.filter(allClients, client -> client.getKeepAliveMode() == KeepAliveMode.SESSION);
+                if (prewarmSessionWorkers) {
+                    rememberUsedWorkers(sessionScopedClients);
+                }
+                if (idleClientRequests + newClientRequests > 0) {
+                    LOGGER.debug("{} of {} worker daemon request(s) were served by an idle worker daemon.", idleClientRequests, idleClientRequests + newClientRequests);
+                }
+                idleClientRequests = 0;
+                newClientRequests = 0;
                 stopWorkers(sessionScopedClients);
             }
         }
+
+        private void rememberUsedWorkers(List<WorkerDaemonClient> sessionScopedClients) {
+            // Workers that were started in advance but not used are not started again
+            for (WorkerDaemonClient client : sessionScopedClients) {
+                if (client.getUses() > 0 && sessionWorkersToPrewarm.stream().noneMatch(forkOptions -> forkOptions.isCompatibleWith(client.getForkOptions()))) {
+                    sessionWorkersToPrewarm.add(client.getForkOptions());
+                }
+            }
+        }
     }
 
     private class LogLevelChangeEventListener implements OutputEventListener {
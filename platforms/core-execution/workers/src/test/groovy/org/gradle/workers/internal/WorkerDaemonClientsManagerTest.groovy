@@ -18,6 +18,8 @@ package org.gradle.workers.internal
 
 import org.gradle.api.Transformer
 import org.gradle.api.logging.LogLevel
+import org.gradle.internal.concurrent.ExecutorFactory
+import org.gradle.internal.concurrent.ManagedExecutor
 import org.gradle.internal.session.BuildSessionLifecycleListener
 import org.gradle.internal.event.DefaultListenerManager
 import org.gradle.internal.event.ListenerManager
@@ -26,12 +28,16 @@ import org.gradle.internal.logging.LoggingManagerInternal
 import org.gradle.internal.logging.events.LogLevelChangeEvent
 import org.gradle.internal.logging.events.OutputEventListener
 import org.gradle.internal.service.scopes.Scopes
+import org.gradle.process.JavaForkOptions
 import org.gradle.process.internal.ExecException
 import org.gradle.process.internal.health.memory.MBeanOsMemoryInfo
 import org.gradle.process.internal.health.memory.MemoryManager
 import org.gradle.util.ConcurrentSpecification
 import spock.lang.Subject
 
+import java.util.concurrent.CompletableFuture
+import java.util.concurrent.Future
+
 class WorkerDaemonClientsManagerTest extends ConcurrentSpecification {
     def options = Stub(DaemonForkOptions)
     def starter = Stub(WorkerDaemonStarter)
@@ -185,6 +191,154 @@ class WorkerDaemonClientsManagerTest extends ConcurrentSpecification {
         0 * client2.stop()
     }
 
+    def "starts session-scoped clients used by the previous session when the next session starts"() {
+        listenerManager = new DefaultListenerManager(Scopes.BuildSession)
+        starter = Mock(WorkerDaemonStarter)
+        manager = new WorkerDaemonClientsManager(starter, listenerManager, loggingManager, memoryManager, new MBeanOsMemoryInfo(), inlineExecutorFactory(), true)
+        def forkOptions = Stub(DaemonForkOptions) {
+            getJavaForkOptions() >> Stub(JavaForkOptions) { getMaxHeapSize() >> "1m" }
+        }
+        def used = Mock(WorkerDaemonClient) {
+            _ * getKeepAliveMode() >> KeepAliveMode.SESSION
+            _ * getUses() >> 1
+            _ * getForkOptions() >> forkOptions
+        }
+        def prewarmed = Mock(WorkerDaemonClient) {
+            _ * isCompatibleWith(forkOptions) >> true
+        }
+
+        when:
+        manager.reserveNewClient(forkOptions)
+        listenerManager.getBroadcaster(BuildSessionLifecycleListener).beforeComplete()
+        listenerManager.getBroadcaster(BuildSessionLifecycleListener).afterStart()
+
+        then:
+        1 * starter.startDaemon(forkOptions, _) >> used
+        1 * used.stop()
+        1 * starter.startDaemon(forkOptions, _) >> prewarmed
+
+        and:
+        manager.reserveIdleClient(forkOptions) == prewarmed
+    }
+
+    def "does not start session-scoped clients again when they were started in advance but not used"() {
+        listenerManager = new DefaultListenerManager(Scopes.BuildSession)
+        starter = Mock(WorkerDaemonStarter)
+        manager = new WorkerDaemonClientsManager(starter, listenerManager, loggingManager, memoryManager, new MBeanOsMemoryInfo(), inlineExecutorFactory(), true)
+        def forkOptions = Stub(DaemonForkOptions) {
+            getJavaForkOptions() >> Stub(JavaForkOptions) { getMaxHeapSize() >> "1m" }
+        }
+        def used = Stub(WorkerDaemonClient) {
+            getKeepAliveMode() >> KeepAliveMode.SESSION
+            getUses() >> 1
+            getForkOptions() >> forkOptions
+        }
+        def prewarmed = Mock(WorkerDaemonClient) {
+            _ * getKeepAliveMode() >> KeepAliveMode.SESSION
+            _ * getUses() >> 0
+            _ * getForkOptions() >> forkOptions
+        }
+        def broadcaster = listenerManager.getBroadcaster(BuildSessionLifecycleListener)
+
+        when:
+        manager.reserveNewClient(forkOptions)
+        broadcaster.beforeComplete()
+        broadcaster.afterStart()
+        broadcaster.beforeComplete()
+        broadcaster.afterStart()
+
+        then:
+        2 * starter.startDaemon(forkOptions, _) >>> [used, prewarmed]
+        1 * prewarmed.stop()
+    }
+
+    def "stops a client started in advance when its session completes while the client is starting"() {
+        listenerManager = new DefaultListenerManager(Scopes.BuildSession)
+        starter = Mock(WorkerDaemonStarter)
+        def prewarms = []
+        manager = new WorkerDaemonClientsManager(starter, listenerManager, loggingManager, memoryManager, new MBeanOsMemoryInfo(), deferredExecutorFactory(prewarms, Mock(Future)), true)
+        def forkOptions = Stub(DaemonForkOptions) {
+            getJavaForkOptions() >> Stub(JavaForkOptions) { getMaxHeapSize() >> "1m" }
+        }
+        def used = Stub(WorkerDaemonClient) {
+            getKeepAliveMode() >> KeepAliveMode.SESSION
+            getUses() >> 1
+            getForkOptions() >> forkOptions
+        }
+        def prewarmed = Mock(WorkerDaemonClient) {
+            _ * getKeepAliveMode() >> KeepAliveMode.SESSION
+            _ * isCompatibleWith(forkOptions) >> true
+        }
+        def broadcaster = listenerManager.getBroadcaster(BuildSessionLifecycleListener)
+
+        when:
+        manager.reserveNewClient(forkOptions)
+        broadcaster.beforeComplete()
+        broadcaster.afterStart()
+        prewarms*.run()
+
+        then:
+        1 * starter.startDaemon(forkOptions, _) >> used
+        1 * starter.startDaemon(forkOptions, _) >> {
+            broadcaster.beforeComplete()
+            prewarmed
+        }
+        1 * prewarmed.stop()
+
+        and:
+        manager.reserveIdleClient(forkOptions) == null
+    }
+
+    def "cancels starting clients in advance when the session completes before they are started"() {
+        listenerManager = new DefaultListenerManager(Scopes.BuildSession)
+        starter = Mock(WorkerDaemonStarter)
+        def prewarms = []
+        def prewarm = Mock(Future)
+        manager = new WorkerDaemonClientsManager(starter, listenerManager, loggingManager, memoryManager, new MBeanOsMemoryInfo(), deferredExecutorFactory(prewarms, prewarm), true)
+        def used = Stub(WorkerDaemonClient) {
+            getKeepAliveMode() >> KeepAliveMode.SESSION
+            getUses() >> 1
+            getForkOptions() >> options
+        }
+        def broadcaster = listenerManager.getBroadcaster(BuildSessionLifecycleListener)
+
+        when:
+        manager.reserveNewClient(options)
+        broadcaster.beforeComplete()
+        broadcaster.afterStart()
+        broadcaster.beforeComplete()
+
+        then:
+        1 * starter.startDaemon(options, _) >> used
+        1 * prewarm.cancel(false)
+
+        when:
+        prewarms*.run()
+
+        then:
+        0 * starter._
+    }
+
+    def "does not start clients in advance by default"() {
+        listenerManager = new DefaultListenerManager(Scopes.BuildSession)
+        starter = Mock(WorkerDaemonStarter)
+        manager = new WorkerDaemonClientsManager(starter, listenerManager, loggingManager, memoryManager, new MBeanOsMemoryInfo())
+        def used = Stub(WorkerDaemonClient) {
+            getKeepAliveMode() >> KeepAliveMode.SESSION
+            getUses() >> 1
+            getForkOptions() >> options
+        }
+
+        when:
+        manager.reserveNewClient(options)
+        listenerManager.getBroadcaster(BuildSessionLifecycleListener).beforeComplete()
+        listenerManager.getBroadcaster(BuildSessionLifecycleListener).afterStart()
+
+        then:
+        1 * starter.startDaemon(options, _) >> used
+        0 * starter._
+    }
+
     def "clients can be released for further use"() {
         def client = Mock(WorkerDaemonClient) {
             isCompatibleWith(_) >> true
@@ -304,4 +458,26 @@ class WorkerDaemonClientsManagerTest extends ConcurrentSpecification {
         then:
         1 * memoryManager.removeMemoryHolder(_) >> { args -> assert args[0] == workerDaemonExpiration }
     }
+
+    private ExecutorFactory inlineExecutorFactory() {
+        return Stub(ExecutorFactory) {
+            create(_) >> Stub(ManagedExecutor) {
+                submit(_ as Runnable) >> { Runnable action ->
+                    action.run()
+                    CompletableFuture.completedFuture(null)
+                }
+            }
+        }
+    }
+
+    private ExecutorFactory deferredExecutorFactory(List<Runnable> actions, Future<?> future) {
+        return Stub(ExecutorFactory) {
+            create(_) >> Stub(ManagedExecutor) {
+                submit(_ as Runnable) >> { Runnable action ->
+                    actions << action
+                    future
+                }
+            }
+        }
+    }
 }
@@ -41,6 +41,7 @@
 
 public class SocketConnection<T> implements RemoteConnection<T> {
     private static final Logger LOGGER = LoggerFactory.getLogger(SocketConnection.class);
+    private static final int BUFFER_SIZE = 32 * 1024;
     private final SocketChannel socket;
     private final SocketInetAddress localAddress;
     private final SocketInetAddress remoteAddress;
@@ -161,7 +162,8 @@ public SocketInputStream(SocketChannel socket) throws IOException {
             this.socket = socket;
             selector = Selector.open();
             socket.register(selector, SelectionKey.OP_READ);
-            buffer = ByteBuffer.allocateDirect(4096);
+            // Use the same size as the output buffer, so that a full buffer written by the peer can be read in a single call
+            buffer = ByteBuffer.allocateDirect(BUFFER_SIZE);
             BufferCaster.cast(buffer).limit(0);
         }
 
@@ -181,11 +183,6 @@ public int read(byte[] dest, int offset, int max) throws IOException {
             }
 
             if (buffer.remaining() == 0) {
-                try {
-                    selector.select();
-                } catch (ClosedSelectorException e) {
-                    return -1;
-                }
                 if (!selector.isOpen()) {
                     return -1;
                 }
@@ -193,9 +190,25 @@ public int read(byte[] dest, int offset, int max) throws IOException {
                 BufferCaster.cast(buffer).clear();
                 int nread;
                 try {
+                    // Data is usually already available when a peer sends a burst of messages, so only wait for the
+                    // channel to become readable when there is nothing to read
                     nread = socket.read(buffer);
+                    while (nread == 0) {
+                        try {
+                            selector.select();
+                        } catch (ClosedSelectorException e) {
+                            nread = -1;
+                            break;
+                        }
+                        if (!selector.isOpen()) {
+                            nread = -1;
+                            break;
+                        }
+                        selector.selectedKeys().clear();
+                        nread = socket.read(buffer);
+                    }
                 } catch (IOException e) {
-                    if (isEndOfStream(e)) {
+                    if (isEndOfStream(e) || !selector.isOpen()) {
                         BufferCaster.cast(buffer).position(0);
                         BufferCaster.cast(buffer).limit(0);
                         return -1;
@@ -229,7 +242,7 @@ private static class SocketOutputStream extends OutputStream {
 
         public SocketOutputStream(SocketChannel socket) throws IOException {
             this.socket = socket;
-            buffer = ByteBuffer.allocateDirect(32 * 1024);
+            buffer = ByteBuffer.allocateDirect(BUFFER_SIZE);
         }
 
         @Override
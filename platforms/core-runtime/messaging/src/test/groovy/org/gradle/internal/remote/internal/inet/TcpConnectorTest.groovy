@@ -223,6 +223,31 @@ class TcpConnectorTest extends ConcurrentSpec {
         acceptor?.stop()
     }
 
+    def "can receive messages larger than the connection buffers"() {
+        def large = "x" * (100 * 1024)
+
+        when:
+        def acceptor = incomingConnector.accept({ ConnectCompletion event ->
+            def conn = event.create(serializer)
+            conn.dispatch(large)
+            1000.times { conn.dispatch("message " + it) }
+            conn.dispatch(large)
+            conn.stop()
+        } as Action, false)
+
+        def connection = outgoingConnector.connect(acceptor.address).create(serializer)
+
+        then:
+        connection.receive() == large
+        1000.times { assert connection.receive() == "message " + it }
+        connection.receive() == large
+        connection.receive() == null
+
+        cleanup:
+        connection?.stop()
+        acceptor?.stop()
+    }
+
     def "returns null on failure to receive due to truncated input"() {
         given:
         def incomingSerializer = { Encoder encoder, String value ->
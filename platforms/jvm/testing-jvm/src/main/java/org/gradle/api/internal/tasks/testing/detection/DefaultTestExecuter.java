@@ -30,6 +30,7 @@
 import org.gradle.api.internal.tasks.testing.processors.PatternMatchTestClassProcessor;
 import org.gradle.api.internal.tasks.testing.processors.RestartEveryNTestClassProcessor;
 import org.gradle.api.internal.tasks.testing.processors.RunPreviousFailedFirstTestClassProcessor;
+import org.gradle.api.internal.tasks.testing.processors.TestClassDurationEstimates;
 import org.gradle.api.internal.tasks.testing.processors.TestMainAction;
 import org.gradle.api.internal.tasks.testing.worker.ForkingTestClassProcessor;
 import org.gradle.api.internal.tasks.testing.worker.ForkedTestClasspath;
@@ -99,10 +100,15 @@ public TestClassProcessor create() {
                 return new RestartEveryNTestClassProcessor(forkingProcessorFactory, testExecutionSpec.getForkEvery());
             }
         };
+        int maxParallelForks = getMaxParallelForks(testExecutionSpec);
+        // Ordering by duration only shortens the execution when classes are spread over several forks
+        TestClassDurationEstimates durationEstimates = maxParallelForks > 1
+            ? new TestClassDurationEstimates(testExecutionSpec.getPreviousTestClassDurations())
+            : TestClassDurationEstimates.NONE;
         processor =
             new PatternMatchTestClassProcessor(testFilter,
-                new RunPreviousFailedFirstTestClassProcessor(testExecutionSpec.getPreviousFailedTestClasses(),
-                    new MaxNParallelTestClassProcessor(getMaxParallelForks(testExecutionSpec), reforkingProcessorFactory, actorFactory)));
+                new RunPreviousFailedFirstTestClassProcessor(testExecutionSpec.getPreviousFailedTestClasses(), durationEstimates,
+                    new MaxNParallelTestClassProcessor(maxParallelForks, reforkingProcessorFactory, actorFactory, durationEstimates)));
 
         final FileTree testClassFiles = testExecutionSpec.getCandidateClassFiles();
 
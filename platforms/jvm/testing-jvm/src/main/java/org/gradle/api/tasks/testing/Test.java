@@ -94,6 +94,7 @@
 import java.io.File;
 import java.util.ArrayList;
 import java.util.Collections;
+import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
@@ -659,7 +660,8 @@ protected JvmTestExecutionSpec createTestExecutionSpec() {
         boolean testIsModule = javaModuleDetector.isModule(modularity.getInferModulePath().get(), getTestClassesDirs());
         FileCollection classpath = javaModuleDetector.inferClasspath(testIsModule, stableClasspath);
         FileCollection modulePath = javaModuleDetector.inferModulePath(testIsModule, stableClasspath);
-        return new JvmTestExecutionSpec(getTestFramework(), classpath, modulePath, getCandidateClassFiles(), isScanForTestClasses(), getTestClassesDirs(), getPath(), getIdentityPath(), getForkEvery(), javaForkOptions, getMaxParallelForks(), getPreviousFailedTestClasses(), testIsModule);
+        PreviousTestResults previousResults = readPreviousTestResults();
+        return new JvmTestExecutionSpec(getTestFramework(), classpath, modulePath, getCandidateClassFiles(), isScanForTestClasses(), getTestClassesDirs(), getPath(), getIdentityPath(), getForkEvery(), javaForkOptions, getMaxParallelForks(), previousResults.failedTestClasses, previousResults.testClassDurations, testIsModule);
     }
 
     private void validateExecutableMatchesToolchain() {
@@ -670,21 +672,35 @@ private void validateExecutableMatchesToolchain() {
                 toolchainExecutable, "toolchain from `javaLauncher` property");
     }
 
-    private Set<String> getPreviousFailedTestClasses() {
+    private PreviousTestResults readPreviousTestResults() {
         TestResultSerializer serializer = new TestResultSerializer(getBinaryResultsDirectory().getAsFile().get());
         if (serializer.isHasResults()) {
             final Set<String> previousFailedTestClasses = new HashSet<String>();
+            final Map<String, Long> previousTestClassDurations = new HashMap<String, Long>();
             serializer.read(new Action<TestClassResult>() {
                 @Override
                 public void execute(TestClassResult testClassResult) {
                     if (testClassResult.getFailuresCount() > 0) {
                         previousFailedTestClasses.add(testClassResult.getClassName());
                     }
+                    if (testClassResult.getTestsCount() > 0) {
+                        previousTestClassDurations.put(testClassResult.getClassName(), testClassResult.getDuration());
+                    }
                 }
             });
-            return previousFailedTestClasses;
+            return new PreviousTestResults(previousFailedTestClasses, previousTestClassDurations);
         } else {
-            return Collections.emptySet();
+            return new PreviousTestResults(Collections.<String>emptySet(), Collections.<String, Long>emptyMap());
+        }
+    }
+
+    private static class PreviousTestResults {
+        private final Set<String> failedTestClasses;
+        private final Map<String, Long> testClassDurations;
+
+        PreviousTestResults(Set<String> failedTestClasses, Map<String, Long> testClassDurations) {
+            this.failedTestClasses = failedTestClasses;
+            this.testClassDurations = testClassDurations;
         }
     }
 
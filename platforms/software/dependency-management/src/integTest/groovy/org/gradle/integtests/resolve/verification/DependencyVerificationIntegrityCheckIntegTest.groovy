@@ -17,6 +17,7 @@
 package org.gradle.integtests.resolve.verification
 
 import org.gradle.api.internal.artifacts.ivyservice.CacheLayout
+import org.gradle.api.internal.artifacts.ivyservice.ivyresolve.verification.ChecksumAndSignatureVerificationOverride
 import org.gradle.integtests.fixtures.ToBeFixedForConfigurationCache
 import org.gradle.integtests.fixtures.cache.CachingIntegrationFixture
 import org.gradle.test.fixtures.file.TestFile
@@ -117,6 +118,33 @@ This can indicate that a dependency has been compromised. Please carefully verif
         "sha512" | "328114e6f92f888c200ea6889d9ba0c940ca260e81fcaeb238d583d7fab96fab451288afee1153dc9bf93caa33200583151f5d9aa500bbebc13a3dae92218bba"
     }
 
+    def "reports verification failures of artifacts verified while resolving"() {
+        createMetadataFile {
+            addChecksum("org:foo:1.0", "sha1", "invalid")
+            addChecksum("org:foo:1.0", "sha1", "85a7b8a2eb6bb1c4cdbbfe5e6c8dc3757de22c02", "pom", "pom")
+        }
+
+        given:
+        terseConsoleOutput(false)
+        javaLibrary()
+        uncheckedModule("org", "foo")
+        buildFile << """
+            dependencies {
+                implementation "org:foo:1.0"
+            }
+        """
+
+        when:
+        executer.withArgument("-D${ChecksumAndSignatureVerificationOverride.EAGER_VERIFICATION_PROPERTY}=true")
+        fails ":compileJava"
+
+        then:
+        failure.assertHasCause("""Dependency verification failed for configuration ':compileClasspath':
+  - On artifact foo-1.0.jar (org:foo:1.0) in repository 'maven': expected a 'sha1' checksum of 'invalid' but was 'd48c8da6999eb2191744f01691f84675e7ff520b'
+
+This can indicate that a dependency has been compromised. Please carefully verify the checksums.""")
+    }
+
     def "doesn't fail the build but logs errors if lenient mode is used (#param)"() {
         createMetadataFile {
             addChecksum("org:foo:1.0", 'sha1', "invalid")
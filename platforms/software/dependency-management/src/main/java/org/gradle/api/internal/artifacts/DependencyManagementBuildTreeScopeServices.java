@@ -31,6 +31,7 @@
 import org.gradle.api.internal.artifacts.ivyservice.modulecache.ModuleRepositoryCacheProvider;
 import org.gradle.api.internal.artifacts.ivyservice.modulecache.ModuleRepositoryCaches;
 import org.gradle.api.internal.artifacts.ivyservice.modulecache.ModuleSourcesSerializer;
+import org.gradle.api.internal.artifacts.ivyservice.modulecache.PersistentCacheWriteQueue;
 import org.gradle.api.internal.artifacts.ivyservice.modulecache.PersistentModuleMetadataCache;
 import org.gradle.api.internal.artifacts.ivyservice.modulecache.ReadOnlyModuleMetadataCache;
 import org.gradle.api.internal.artifacts.ivyservice.modulecache.TwoStageModuleMetadataCache;
@@ -185,11 +186,14 @@ ModuleRepositoryCacheProvider createModuleRepositoryCacheProvider(
         AbstractModuleMetadataCache persistentModuleMetadataCache = readOnlyCaches.map(mrc -> (AbstractModuleMetadataCache) new TwoStageModuleMetadataCache(timeProvider, mrc.moduleMetadataCache, writableCaches.moduleMetadataCache)).orElse(writableCaches.moduleMetadataCache);
         AbstractArtifactsCache moduleArtifactsCache = readOnlyCaches.map(mrc -> (AbstractArtifactsCache) new TwoStageArtifactsCache(timeProvider, mrc.moduleArtifactsCache, writableCaches.moduleArtifactsCache)).orElse(writableCaches.moduleArtifactsCache);
         ModuleArtifactCache moduleArtifactCache = readOnlyCaches.map(mrc -> (ModuleArtifactCache) new TwoStageModuleArtifactCache(roCachePath.get(), mrc.moduleArtifactCache, writableCaches.moduleArtifactCache)).orElse(writableCaches.moduleArtifactCache);
+        PersistentCacheWriteQueue writeQueue = Boolean.getBoolean(PersistentCacheWriteQueue.BATCH_WRITES_PROPERTY)
+            ? new PersistentCacheWriteQueue(artifactCaches.getWritableCacheAccessCoordinator())
+            : null;
         ModuleRepositoryCaches persistentCaches = new ModuleRepositoryCaches(
-            new InMemoryModuleVersionsCache(timeProvider, moduleVersionsCache),
-            new InMemoryModuleMetadataCache(timeProvider, persistentModuleMetadataCache),
-            new InMemoryModuleArtifactsCache(timeProvider, moduleArtifactsCache),
-            new InMemoryModuleArtifactCache(timeProvider, moduleArtifactCache)
+            new InMemoryModuleVersionsCache(timeProvider, moduleVersionsCache, writeQueue),
+            new InMemoryModuleMetadataCache(timeProvider, persistentModuleMetadataCache, writeQueue),
+            new InMemoryModuleArtifactsCache(timeProvider, moduleArtifactsCache, writeQueue),
+            new InMemoryModuleArtifactCache(timeProvider, moduleArtifactCache, writeQueue)
         );
         ModuleRepositoryCaches inMemoryOnlyCaches = new ModuleRepositoryCaches(
             new InMemoryModuleVersionsCache(timeProvider),
@@ -197,7 +201,7 @@ ModuleRepositoryCacheProvider createModuleRepositoryCacheProvider(
             new InMemoryModuleArtifactsCache(timeProvider),
             new InMemoryModuleArtifactCache(timeProvider)
         );
-        return new ModuleRepositoryCacheProvider(persistentCaches, inMemoryOnlyCaches);
+        return new ModuleRepositoryCacheProvider(persistentCaches, inMemoryOnlyCaches, writeQueue);
     }
 
     private static ModuleRepositoryCaches prepareModuleRepositoryCaches(ArtifactCacheMetadata artifactCacheMetadata, ArtifactCacheLockingAccessCoordinator cacheAccessCoordinator, BuildCommencedTimeProvider timeProvider, ImmutableModuleIdentifierFactory moduleIdentifierFactory, AttributeContainerSerializer attributeContainerSerializer, MavenMutableModuleMetadataFactory mavenMetadataFactory, IvyMutableModuleMetadataFactory ivyMetadataFactory, SimpleMapInterner stringInterner, ArtifactIdentifierFileStore artifactIdentifierFileStore, ModuleSourcesSerializer moduleSourcesSerializer, ChecksumService checksumService) {
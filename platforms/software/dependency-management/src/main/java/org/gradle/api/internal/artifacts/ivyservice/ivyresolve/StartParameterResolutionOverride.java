@@ -27,6 +27,7 @@
 import org.gradle.api.internal.artifacts.repositories.resolver.MetadataFetchingCost;
 import org.gradle.api.internal.artifacts.verification.exceptions.DependencyVerificationException;
 import org.gradle.api.internal.artifacts.verification.signatures.SignatureVerificationServiceFactory;
+import org.gradle.api.internal.artifacts.verification.verifier.DependencyVerifierCache;
 import org.gradle.api.internal.component.ArtifactType;
 import org.gradle.api.internal.properties.GradleProperties;
 import org.gradle.api.resources.ResourceException;
@@ -38,6 +39,7 @@
 import org.gradle.internal.component.model.ComponentOverrideMetadata;
 import org.gradle.internal.component.model.ComponentResolveMetadata;
 import org.gradle.internal.component.model.ModuleSources;
+import org.gradle.internal.concurrent.ExecutorFactory;
 import org.gradle.internal.hash.ChecksumService;
 import org.gradle.internal.operations.BuildOperationExecutor;
 import org.gradle.internal.resolve.ArtifactResolveException;
@@ -87,6 +89,8 @@ public ModuleComponentRepository<ModuleComponentResolveMetadata> overrideModuleV
 
     public DependencyVerificationOverride dependencyVerificationOverride(
         BuildOperationExecutor buildOperationExecutor,
+        ExecutorFactory executorFactory,
+        DependencyVerifierCache verifierCache,
         ChecksumService checksumService,
         SignatureVerificationServiceFactory signatureVerificationServiceFactory,
         DocumentationRegistry documentationRegistry,
@@ -110,7 +114,8 @@ public DependencyVerificationOverride dependencyVerificationOverride(
 
         try {
             File sessionReportDir = computeReportDirectory(timeProvider);
-            return new ChecksumAndSignatureVerificationOverride(buildOperationExecutor, startParameter.getGradleUserHomeDir(), verificationsFile, checksumService, signatureVerificationServiceFactory, startParameter.getDependencyVerificationMode(), documentationRegistry, sessionReportDir, gradlePropertiesFactory, fileResourceListener);
+            boolean verifyEagerly = Boolean.getBoolean(ChecksumAndSignatureVerificationOverride.EAGER_VERIFICATION_PROPERTY);
+            return new ChecksumAndSignatureVerificationOverride(buildOperationExecutor, executorFactory, verifyEagerly, startParameter.getGradleUserHomeDir(), verificationsFile, verifierCache, checksumService, signatureVerificationServiceFactory, startParameter.getDependencyVerificationMode(), documentationRegistry, sessionReportDir, gradlePropertiesFactory, fileResourceListener);
         } catch (Exception e) {
             return new FailureVerificationOverride(e);
         }
@@ -21,7 +21,7 @@
 import org.w3c.dom.NodeList;
 
 import java.io.*;
-import java.util.LinkedList;
+import java.util.ArrayList;
 import java.util.List;
 
 public final class PomDomParser {
@@ -71,7 +71,7 @@ public static Element getFirstChildElement(Element parentElem, String name) {
     }
 
     public static List<Element> getAllChilds(Element parent) {
-        List<Element> r = new LinkedList<>();
+        List<Element> r = new ArrayList<>();
         if (parent != null) {
             NodeList childs = parent.getChildNodes();
             for (int i = 0; i < childs.getLength(); i++) {
@@ -30,11 +30,11 @@
 import org.gradle.api.internal.artifacts.ivyservice.ivyresolve.verification.report.DependencyVerificationReportWriter;
 import org.gradle.api.internal.artifacts.ivyservice.ivyresolve.verification.report.VerificationReport;
 import org.gradle.api.internal.artifacts.verification.exceptions.DependencyVerificationException;
-import org.gradle.api.internal.artifacts.verification.serializer.DependencyVerificationsXmlReader;
 import org.gradle.api.internal.artifacts.verification.signatures.BuildTreeDefinedKeys;
 import org.gradle.api.internal.artifacts.verification.signatures.SignatureVerificationService;
 import org.gradle.api.internal.artifacts.verification.signatures.SignatureVerificationServiceFactory;
 import org.gradle.api.internal.artifacts.verification.verifier.DependencyVerifier;
+import org.gradle.api.internal.artifacts.verification.verifier.DependencyVerifierCache;
 import org.gradle.api.internal.properties.GradleProperties;
 import org.gradle.api.logging.Logger;
 import org.gradle.api.logging.Logging;
@@ -42,6 +42,8 @@
 import org.gradle.internal.UncheckedException;
 import org.gradle.internal.component.external.model.ModuleComponentArtifactIdentifier;
 import org.gradle.internal.component.external.model.ModuleComponentGraphResolveState;
+import org.gradle.internal.concurrent.ExecutorFactory;
+import org.gradle.internal.concurrent.ManagedExecutor;
 import org.gradle.internal.concurrent.Stoppable;
 import org.gradle.internal.hash.ChecksumService;
 import org.gradle.internal.logging.ConsoleRenderer;
@@ -51,19 +53,26 @@
 import org.gradle.internal.operations.RunnableBuildOperation;
 import org.gradle.internal.resource.local.FileResourceListener;
 
+import javax.annotation.Nullable;
 import java.io.File;
-import java.io.FileInputStream;
-import java.io.FileNotFoundException;
 import java.net.URI;
+import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Deque;
 import java.util.List;
 import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
 import java.util.concurrent.atomic.AtomicBoolean;
 
 public class ChecksumAndSignatureVerificationOverride implements DependencyVerificationOverride, ArtifactVerificationOperation, Stoppable {
     private final static Logger LOGGER = Logging.getLogger(ChecksumAndSignatureVerificationOverride.class);
 
+    /**
+     * When set, artifacts are verified in the background as soon as they have been resolved, instead of when they are first accessed.
+     */
+    public static final String EAGER_VERIFICATION_PROPERTY = "org.gradle.internal.dependency-verification.eager";
+
     private final DependencyVerifier verifier;
     private final Multimap<ModuleComponentArtifactIdentifier, RepositoryAwareVerificationFailure> failures = LinkedHashMultimap.create();
     private final BuildOperationExecutor buildOperationExecutor;
@@ -76,11 +85,17 @@ public class ChecksumAndSignatureVerificationOverride implements DependencyVerif
     private final AtomicBoolean closed = new AtomicBoolean();
     private final AtomicBoolean hasFatalFailure = new AtomicBoolean();
     private final DependencyVerificationReportWriter reportWriter;
+    @Nullable
+    private final ManagedExecutor eagerVerificationExecutor;
+    private final List<Future<?>> eagerVerifications = new ArrayList<>();
 
     public ChecksumAndSignatureVerificationOverride(
         BuildOperationExecutor buildOperationExecutor,
+        ExecutorFactory executorFactory,
+        boolean verifyEagerly,
         File gradleUserHome,
         File verificationsFile,
+        DependencyVerifierCache verifierCache,
         ChecksumService checksumService,
         SignatureVerificationServiceFactory signatureVerificationServiceFactory,
         DependencyVerificationMode verificationMode,
@@ -94,17 +109,14 @@ public ChecksumAndSignatureVerificationOverride(
         this.verificationMode = verificationMode;
         this.fileResourceListener = fileResourceListener;
         try {
-            this.verifier = DependencyVerificationsXmlReader.readFromXml(
-                new FileInputStream(observed(verificationsFile))
-            );
+            this.verifier = verifierCache.readFromXml(observed(verificationsFile), checksumService.sha256(verificationsFile));
             this.reportWriter = new DependencyVerificationReportWriter(gradleUserHome.toPath(), documentationRegistry, verificationsFile, verifier.getSuggestedWriteFlags(), reportsDirectory, gradlePropertiesFactory);
-        } catch (FileNotFoundException e) {
-            throw UncheckedException.throwAsUncheckedException(e);
         } catch (DependencyVerificationException e) {
             throw new DependencyVerificationException("Unable to read dependency verification metadata from " + verificationsFile, e.getCause());
         }
         BuildTreeDefinedKeys localKeyring = new BuildTreeDefinedKeys(verificationsFile.getParentFile(), verifier.getConfiguration().getKeyringFormat());
         this.signatureVerificationService = signatureVerificationServiceFactory.create(localKeyring, keyServers(), verifier.getConfiguration().isUseKeyServers());
+        this.eagerVerificationExecutor = verifyEagerly ? executorFactory.create("Dependency verification", Runtime.getRuntime().availableProcessors()) : null;
     }
 
     private List<URI> keyServers() {
@@ -115,14 +127,52 @@ private List<URI> keyServers() {
     public void onArtifact(ArtifactKind kind, ModuleComponentArtifactIdentifier artifact, File mainFile, Factory<File> signatureFile, String repositoryName, String repositoryId) {
         if (verificationQueries.add(new VerificationQuery(artifact, repositoryId))) {
             VerificationEvent event = new VerificationEvent(kind, artifact, mainFile, signatureFile, repositoryName);
+            if (eagerVerificationExecutor != null && !closed.get()) {
+                // Overlap the hashing and signature checks with the resolution of the remaining artifacts
+                synchronized (eagerVerifications) {
+                    eagerVerifications.add(eagerVerificationExecutor.submit(() -> verify(event)));
+                }
+                return;
+            }
             synchronized (verificationEvents) {
                 verificationEvents.add(event);
             }
         }
     }
 
+    private void verify(VerificationEvent ve) {
+        verifier.verify(checksumService, signatureVerificationService, ve.kind, ve.artifact, observed(ve.mainFile), observed(ve.signatureFile.create()), f -> {
+            synchronized (failures) {
+                failures.put(ve.artifact, new RepositoryAwareVerificationFailure(f, ve.repositoryName));
+                if (f.isFatal()) {
+                    hasFatalFailure.set(true);
+                }
+            }
+        });
+    }
+
+    private void awaitEagerVerifications() {
+        List<Future<?>> pending;
+        synchronized (eagerVerifications) {
+            if (eagerVerifications.isEmpty()) {
+                return;
+            }
+            pending = new ArrayList<>(eagerVerifications);
+            eagerVerifications.clear();
+        }
+        for (Future<?> verification : pending) {
+            try {
+                verification.get();
+            } catch (InterruptedException e) {
+                throw UncheckedException.throwAsUncheckedException(e);
+            } catch (ExecutionException e) {
+                throw UncheckedException.throwAsUncheckedException(e.getCause());
+            }
+        }
+    }
+
     private void verifyConcurrently() {
-        hasFatalFailure.set(false);
+        awaitEagerVerifications();
         synchronized (verificationEvents) {
             if (verificationEvents.isEmpty()) {
                 return;
@@ -140,14 +190,7 @@ private void verifyConcurrently() {
                     queue.add(new RunnableBuildOperation() {
                         @Override
                         public void run(BuildOperationContext context) {
-                            verifier.verify(checksumService, signatureVerificationService, ve.kind, ve.artifact, observed(ve.mainFile), observed(ve.signatureFile.create()), f -> {
-                                synchronized (failures) {
-                                    failures.put(ve.artifact, new RepositoryAwareVerificationFailure(f, ve.repositoryName));
-                                }
-                                if (f.isFatal()) {
-                                    hasFatalFailure.set(true);
-                                }
-                            });
+                            verify(ve);
                         }
 
                         @Override
@@ -180,10 +223,11 @@ public void artifactsAccessed(String displayName) {
                 });
                 VerificationReport report = reportWriter.generateReport(displayName, failures, verifier.getConfiguration().isUseKeyServers());
                 String errorMessage = buildConsoleErrorMessage(report);
+                // Only fatal failures found after this report fail the next access
+                hasFatalFailure.set(false);
                 if (verificationMode == DependencyVerificationMode.LENIENT) {
                     LOGGER.error(errorMessage);
                     failures.clear();
-                    hasFatalFailure.set(false);
                 } else {
                     throw new DependencyVerificationException(errorMessage);
                 }
@@ -235,7 +279,13 @@ private File observed(File file) {
     @Override
     public void stop() {
         closed.set(true);
-        signatureVerificationService.stop();
+        try {
+            if (eagerVerificationExecutor != null) {
+                eagerVerificationExecutor.stop();
+            }
+        } finally {
+            signatureVerificationService.stop();
+        }
     }
 
     private static class VerificationQuery {
@@ -17,21 +17,29 @@
 
 import org.gradle.util.internal.BuildCommencedTimeProvider;
 
+import javax.annotation.Nullable;
 import java.util.Map;
 import java.util.concurrent.ConcurrentHashMap;
 
 public class InMemoryModuleMetadataCache extends AbstractModuleMetadataCache {
     private final Map<ModuleComponentAtRepositoryKey, CachedMetadata> inMemoryCache = new ConcurrentHashMap<>();
     private final AbstractModuleMetadataCache delegate;
+    private final PersistentCacheWriteQueue writeQueue;
 
     public InMemoryModuleMetadataCache(BuildCommencedTimeProvider timeProvider) {
         super(timeProvider);
         delegate = null;
+        writeQueue = null;
     }
 
     public InMemoryModuleMetadataCache(BuildCommencedTimeProvider timeProvider, AbstractModuleMetadataCache delegate) {
+        this(timeProvider, delegate, null);
+    }
+
+    public InMemoryModuleMetadataCache(BuildCommencedTimeProvider timeProvider, AbstractModuleMetadataCache delegate, @Nullable PersistentCacheWriteQueue writeQueue) {
         super(timeProvider);
         this.delegate = delegate;
+        this.writeQueue = writeQueue;
     }
 
     @Override
@@ -50,7 +58,9 @@ protected CachedMetadata get(ModuleComponentAtRepositoryKey key) {
     protected CachedMetadata store(ModuleComponentAtRepositoryKey key, ModuleMetadataCacheEntry entry, CachedMetadata cachedMetaData) {
         CachedMetadata dehydrated = cachedMetaData.dehydrate();
         inMemoryCache.put(key, dehydrated);
-        if (delegate != null) {
+        if (writeQueue != null) {
+            writeQueue.write(this, key, () -> delegate.store(key, entry, dehydrated));
+        } else if (delegate != null) {
             delegate.store(key, entry, dehydrated);
         }
         return dehydrated;
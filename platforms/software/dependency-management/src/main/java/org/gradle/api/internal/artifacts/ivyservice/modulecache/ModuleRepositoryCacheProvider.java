@@ -15,14 +15,23 @@
  */
 package org.gradle.api.internal.artifacts.ivyservice.modulecache;
 
-public class ModuleRepositoryCacheProvider {
+import javax.annotation.Nullable;
+import java.io.Closeable;
+
+public class ModuleRepositoryCacheProvider implements Closeable {
     private final ModuleRepositoryCaches caches;
     private final ModuleRepositoryCaches inMemoryCaches;
     private final ResolvedArtifactCaches resolvedArtifactCaches = new ResolvedArtifactCaches();
+    private final PersistentCacheWriteQueue writeQueue;
 
     public ModuleRepositoryCacheProvider(ModuleRepositoryCaches caches, ModuleRepositoryCaches inMemoryCaches) {
+        this(caches, inMemoryCaches, null);
+    }
+
+    public ModuleRepositoryCacheProvider(ModuleRepositoryCaches caches, ModuleRepositoryCaches inMemoryCaches, @Nullable PersistentCacheWriteQueue writeQueue) {
         this.caches = caches;
         this.inMemoryCaches = inMemoryCaches;
+        this.writeQueue = writeQueue;
     }
 
     /**
@@ -43,4 +52,11 @@ public ModuleRepositoryCaches getInMemoryOnlyCaches() {
     public ResolvedArtifactCaches getResolvedArtifactCaches() {
         return resolvedArtifactCaches;
     }
+
+    @Override
+    public void close() {
+        if (writeQueue != null) {
+            writeQueue.close();
+        }
+    }
 }
@@ -0,0 +1,130 @@
+/*
+ * Copyright 2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.gradle.api.internal.artifacts.ivyservice.modulecache;
+
+import org.gradle.cache.ExclusiveCacheAccessCoordinator;
+
+import javax.annotation.concurrent.ThreadSafe;
+import java.io.Closeable;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * Collects the writes of the in-memory module caches to their persistent stores, and applies them in batches while holding the
+ * lock of the artifact cache once, instead of acquiring the cross-process lock for every entry.
+ *
+ * <p>The in-memory caches answer reads for the entries that are waiting to be written, so deferring the writes is only visible
+ * to other processes. The remaining writes are applied when this queue is closed.</p>
+ */
+@ThreadSafe
+public class PersistentCacheWriteQueue implements Closeable {
+    public static final String BATCH_WRITES_PROPERTY = "org.gradle.internal.resolution.batch-cache-writes";
+    private static final int DEFAULT_BATCH_SIZE = 100;
+
+    private final ExclusiveCacheAccessCoordinator cacheAccessCoordinator;
+    private final int batchSize;
+    private final Map<PendingKey, Runnable> pendingWrites = new LinkedHashMap<>();
+
+    public PersistentCacheWriteQueue(ExclusiveCacheAccessCoordinator cacheAccessCoordinator) {
+        this(cacheAccessCoordinator, DEFAULT_BATCH_SIZE);
+    }
+
+    PersistentCacheWriteQueue(ExclusiveCacheAccessCoordinator cacheAccessCoordinator, int batchSize) {
+        this.cacheAccessCoordinator = cacheAccessCoordinator;
+        this.batchSize = batchSize;
+    }
+
+    /**
+     * Schedules a write of the given entry of the given cache. A later write of the same entry replaces this one.
+     */
+    public void write(Object cache, Object key, Runnable write) {
+        boolean batchComplete;
+        synchronized (pendingWrites) {
+            pendingWrites.put(new PendingKey(cache, key), write);
+            batchComplete = pendingWrites.size() >= batchSize;
+        }
+        if (batchComplete) {
+            flush();
+        }
+    }
+
+    /**
+     * Discards the pending write of the given entry of the given cache, if any.
+     */
+    public void discard(Object cache, Object key) {
+        synchronized (pendingWrites) {
+            pendingWrites.remove(new PendingKey(cache, key));
+        }
+    }
+
+    /**
+     * Applies all pending writes.
+     */
+    public void flush() {
+        synchronized (pendingWrites) {
+            if (pendingWrites.isEmpty()) {
+                return;
+            }
+        }
+        cacheAccessCoordinator.useCache(() -> {
+            // Take the writes while holding the cache lock, so that concurrent flushes apply them in order
+            List<Runnable> writes;
+            synchronized (pendingWrites) {
+                writes = new ArrayList<>(pendingWrites.values());
+                pendingWrites.clear();
+            }
+            for (Runnable write : writes) {
+                write.run();
+            }
+        });
+    }
+
+    @Override
+    public void close() {
+        flush();
+    }
+
+    private static class PendingKey {
+        private final Object cache;
+        private final Object key;
+
+        private PendingKey(Object cache, Object key) {
+            this.cache = cache;
+            this.key = key;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (o == null || getClass() != o.getClass()) {
+                return false;
+            }
+            PendingKey that = (PendingKey) o;
+            return cache == that.cache && key.equals(that.key);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(System.identityHashCode(cache), key);
+        }
+    }
+}
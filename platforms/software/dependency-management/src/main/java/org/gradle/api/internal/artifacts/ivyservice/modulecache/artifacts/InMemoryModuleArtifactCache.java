@@ -15,6 +15,7 @@
  */
 package org.gradle.api.internal.artifacts.ivyservice.modulecache.artifacts;
 
+import org.gradle.api.internal.artifacts.ivyservice.modulecache.PersistentCacheWriteQueue;
 import org.gradle.internal.hash.HashCode;
 import org.gradle.util.internal.BuildCommencedTimeProvider;
 
@@ -28,21 +29,30 @@ public class InMemoryModuleArtifactCache implements ModuleArtifactCache {
     private final Map<ArtifactAtRepositoryKey, CachedArtifact> inMemoryCache = new ConcurrentHashMap<>();
     private final BuildCommencedTimeProvider timeProvider;
     private final ModuleArtifactCache delegate;
+    private final PersistentCacheWriteQueue writeQueue;
 
     public InMemoryModuleArtifactCache(BuildCommencedTimeProvider timeProvider) {
         this.timeProvider = timeProvider;
         this.delegate = null;
+        this.writeQueue = null;
     }
 
     public InMemoryModuleArtifactCache(BuildCommencedTimeProvider timeProvider, ModuleArtifactCache delegate) {
+        this(timeProvider, delegate, null);
+    }
+
+    public InMemoryModuleArtifactCache(BuildCommencedTimeProvider timeProvider, ModuleArtifactCache delegate, @Nullable PersistentCacheWriteQueue writeQueue) {
         this.timeProvider = timeProvider;
         this.delegate = delegate;
+        this.writeQueue = writeQueue;
     }
 
     @Override
     public void store(ArtifactAtRepositoryKey key, File artifactFile, HashCode moduleDescriptorHash) {
         inMemoryCache.put(key, new DefaultCachedArtifact(artifactFile, timeProvider.getCurrentTime(), moduleDescriptorHash));
-        if (delegate != null) {
+        if (writeQueue != null) {
+            writeQueue.write(this, key, () -> delegate.store(key, artifactFile, moduleDescriptorHash));
+        } else if (delegate != null) {
             delegate.store(key, artifactFile, moduleDescriptorHash);
         }
     }
@@ -50,7 +60,9 @@ public void store(ArtifactAtRepositoryKey key, File artifactFile, HashCode modul
     @Override
     public void storeMissing(ArtifactAtRepositoryKey key, List<String> attemptedLocations, HashCode descriptorHash) {
         inMemoryCache.put(key, new DefaultCachedArtifact(attemptedLocations, timeProvider.getCurrentTime(), descriptorHash));
-        if (delegate != null) {
+        if (writeQueue != null) {
+            writeQueue.write(this, key, () -> delegate.storeMissing(key, attemptedLocations, descriptorHash));
+        } else if (delegate != null) {
             delegate.storeMissing(key, attemptedLocations, descriptorHash);
         }
     }
@@ -71,6 +83,9 @@ public CachedArtifact lookup(ArtifactAtRepositoryKey key) {
     @Override
     public void clear(ArtifactAtRepositoryKey key) {
         inMemoryCache.remove(key);
+        if (writeQueue != null) {
+            writeQueue.discard(this, key);
+        }
         if (delegate != null) {
             delegate.clear(key);
         }
@@ -15,29 +15,40 @@
  */
 package org.gradle.api.internal.artifacts.ivyservice.modulecache.artifacts;
 
+import org.gradle.api.internal.artifacts.ivyservice.modulecache.PersistentCacheWriteQueue;
 import org.gradle.util.internal.BuildCommencedTimeProvider;
 
+import javax.annotation.Nullable;
 import java.util.Map;
 import java.util.concurrent.ConcurrentHashMap;
 
 public class InMemoryModuleArtifactsCache extends AbstractArtifactsCache {
     private final Map<ArtifactsAtRepositoryKey, ModuleArtifactsCacheEntry> inMemoryCache = new ConcurrentHashMap<>();
     private final AbstractArtifactsCache delegate;
+    private final PersistentCacheWriteQueue writeQueue;
 
     public InMemoryModuleArtifactsCache(BuildCommencedTimeProvider timeProvider) {
         super(timeProvider);
         this.delegate = null;
+        this.writeQueue = null;
     }
 
     public InMemoryModuleArtifactsCache(BuildCommencedTimeProvider timeProvider, AbstractArtifactsCache delegate) {
+        this(timeProvider, delegate, null);
+    }
+
+    public InMemoryModuleArtifactsCache(BuildCommencedTimeProvider timeProvider, AbstractArtifactsCache delegate, @Nullable PersistentCacheWriteQueue writeQueue) {
         super(timeProvider);
         this.delegate = delegate;
+        this.writeQueue = writeQueue;
     }
 
     @Override
     protected void store(ArtifactsAtRepositoryKey key, ModuleArtifactsCacheEntry entry) {
         inMemoryCache.put(key, entry);
-        if (delegate != null) {
+        if (writeQueue != null) {
+            writeQueue.write(this, key, () -> delegate.store(key, entry));
+        } else if (delegate != null) {
             delegate.store(key, entry);
         }
     }
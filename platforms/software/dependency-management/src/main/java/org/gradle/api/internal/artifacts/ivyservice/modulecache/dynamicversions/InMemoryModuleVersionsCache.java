@@ -15,29 +15,40 @@
  */
 package org.gradle.api.internal.artifacts.ivyservice.modulecache.dynamicversions;
 
+import org.gradle.api.internal.artifacts.ivyservice.modulecache.PersistentCacheWriteQueue;
 import org.gradle.util.internal.BuildCommencedTimeProvider;
 
+import javax.annotation.Nullable;
 import java.util.Map;
 import java.util.concurrent.ConcurrentHashMap;
 
 public class InMemoryModuleVersionsCache extends AbstractModuleVersionsCache {
     private final Map<ModuleAtRepositoryKey, ModuleVersionsCacheEntry> inMemoryCache = new ConcurrentHashMap<>();
     private final AbstractModuleVersionsCache delegate;
+    private final PersistentCacheWriteQueue writeQueue;
 
     public InMemoryModuleVersionsCache(BuildCommencedTimeProvider timeProvider) {
         super(timeProvider);
         this.delegate = null;
+        this.writeQueue = null;
     }
 
     public InMemoryModuleVersionsCache(BuildCommencedTimeProvider timeProvider, AbstractModuleVersionsCache delegate) {
+        this(timeProvider, delegate, null);
+    }
+
+    public InMemoryModuleVersionsCache(BuildCommencedTimeProvider timeProvider, AbstractModuleVersionsCache delegate, @Nullable PersistentCacheWriteQueue writeQueue) {
         super(timeProvider);
         this.delegate = delegate;
+        this.writeQueue = writeQueue;
     }
 
     @Override
     protected void store(ModuleAtRepositoryKey key, ModuleVersionsCacheEntry entry) {
         inMemoryCache.put(key, entry);
-        if (delegate != null) {
+        if (writeQueue != null) {
+            writeQueue.write(this, key, () -> delegate.store(key, entry));
+        } else if (delegate != null) {
             delegate.store(key, entry);
         }
     }
@@ -28,6 +28,7 @@
 import org.gradle.api.internal.artifacts.ivyservice.dependencysubstitution.DefaultDependencySubstitutionApplicator;
 import org.gradle.api.internal.artifacts.ivyservice.dependencysubstitution.DependencySubstitutionApplicator;
 import org.gradle.api.internal.artifacts.ivyservice.ivyresolve.ComponentResolvers;
+import org.gradle.api.internal.artifacts.ivyservice.ivyresolve.verification.DependencyVerificationOverride;
 import org.gradle.api.internal.artifacts.ivyservice.ivyresolve.strategy.VersionComparator;
 import org.gradle.api.internal.artifacts.ivyservice.ivyresolve.strategy.VersionParser;
 import org.gradle.api.internal.artifacts.ivyservice.ivyresolve.strategy.VersionSelectorScheme;
@@ -54,6 +55,9 @@
 import org.gradle.internal.component.model.ComponentIdGenerator;
 import org.gradle.internal.component.model.DependencyMetadata;
 import org.gradle.internal.component.model.GraphVariantSelector;
+import org.gradle.internal.concurrent.ExecutorFactory;
+import org.gradle.internal.concurrent.ManagedExecutor;
+import org.gradle.internal.concurrent.Stoppable;
 import org.gradle.internal.instantiation.InstantiatorFactory;
 import org.gradle.internal.operations.BuildOperationExecutor;
 import org.gradle.internal.reflect.Instantiator;
@@ -69,7 +73,14 @@
  * Resolves a {@link ResolveContext} and visits the resulting graph. Essentially, this
  * class is a {@link DependencyGraphBuilder} factory and executor.
  */
-public class DependencyGraphResolver {
+public class DependencyGraphResolver implements Stoppable {
+    /**
+     * When set, the metadata of modules that the graph is likely to reach is fetched speculatively, ahead of the traversal.
+     * Ignored when dependency verification is enabled, as every fetched module is verified or recorded, including ones the graph does not end up using.
+     */
+    public static final String PREFETCH_METADATA_PROPERTY = "org.gradle.internal.resolution.prefetch-metadata";
+    private static final int MAX_CONCURRENT_METADATA_PREFETCHES = 8;
+
     private final DependencyMetadataFactory dependencyMetadataFactory;
     private final VersionComparator versionComparator;
     private final ModuleExclusions moduleExclusions;
@@ -84,6 +95,9 @@ public class DependencyGraphResolver {
     private final ComponentIdGenerator idGenerator;
     private final GraphVariantSelector variantSelector;
     private final ImmutableAttributesFactory attributesFactory;
+    private final ExecutorFactory executorFactory;
+    private final boolean prefetchMetadata;
+    private ManagedExecutor metadataPrefetchExecutor;
 
     @Inject
     public DependencyGraphResolver(
@@ -100,7 +114,9 @@ public DependencyGraphResolver(
         ModuleComponentGraphResolveStateFactory moduleResolveStateFactory,
         ComponentIdGenerator idGenerator,
         GraphVariantSelector variantSelector,
-        ImmutableAttributesFactory attributesFactory
+        ImmutableAttributesFactory attributesFactory,
+        ExecutorFactory executorFactory,
+        DependencyVerificationOverride dependencyVerificationOverride
     ) {
         this.dependencyMetadataFactory = dependencyMetadataFactory;
         this.versionComparator = versionComparator;
@@ -116,6 +132,8 @@ public DependencyGraphResolver(
         this.idGenerator = idGenerator;
         this.variantSelector = variantSelector;
         this.attributesFactory = attributesFactory;
+        this.executorFactory = executorFactory;
+        this.prefetchMetadata = Boolean.getBoolean(PREFETCH_METADATA_PROPERTY) && dependencyVerificationOverride == DependencyVerificationOverride.NO_VERIFICATION;
     }
 
     /**
@@ -160,7 +178,8 @@ public void resolveGraph(
             versionComparator.asVersionComparator(),
             idGenerator,
             versionParser,
-            variantSelector
+            variantSelector,
+            prefetchMetadata ? getMetadataPrefetchExecutor() : null
         );
 
         List<? extends DependencyMetadata> syntheticDependencies = includeSyntheticDependencies
@@ -170,6 +189,21 @@ public void resolveGraph(
         builder.resolve(resolveContext.toRootComponent(), resolutionStrategy, syntheticDependencies, new CompositeDependencyGraphVisitor(visitors));
     }
 
+    private synchronized ManagedExecutor getMetadataPrefetchExecutor() {
+        if (metadataPrefetchExecutor == null) {
+            metadataPrefetchExecutor = executorFactory.create("Dependency metadata prefetch", MAX_CONCURRENT_METADATA_PREFETCHES);
+        }
+        return metadataPrefetchExecutor;
+    }
+
+    @Override
+    public synchronized void stop() {
+        if (metadataPrefetchExecutor != null) {
+            metadataPrefetchExecutor.stop();
+            metadataPrefetchExecutor = null;
+        }
+    }
+
     private DependencySubstitutionApplicator createDependencySubstitutionApplicator(ImmutableActionSet<DependencySubstitutionInternal> substitutionRules) {
         DependencySubstitutionApplicator applicator;
         if (substitutionRules.isEmpty()) {
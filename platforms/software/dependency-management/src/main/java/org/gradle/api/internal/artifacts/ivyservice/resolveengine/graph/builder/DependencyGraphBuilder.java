@@ -73,6 +73,7 @@
 import java.util.List;
 import java.util.Objects;
 import java.util.Set;
+import java.util.concurrent.ExecutorService;
 import java.util.stream.Collectors;
 
 public class DependencyGraphBuilder {
@@ -95,6 +96,8 @@ public class DependencyGraphBuilder {
     private final VersionParser versionParser;
     private final ResolutionConflictTracker conflictTracker;
     private final GraphVariantSelector variantSelector;
+    @Nullable
+    private final ExecutorService metadataPrefetchExecutor;
 
     final static Spec<EdgeState> ENDORSE_STRICT_VERSIONS_DEPENDENCY_SPEC = dependencyState -> dependencyState.getDependencyState().getDependency().isEndorsingStrictVersions();
     final static Spec<EdgeState> NOT_ENDORSE_STRICT_VERSIONS_DEPENDENCY_SPEC = dependencyState -> !dependencyState.getDependencyState().getDependency().isEndorsingStrictVersions();
@@ -115,7 +118,8 @@ public DependencyGraphBuilder(DependencyToComponentIdResolver componentIdResolve
                                   Comparator<Version> versionComparator,
                                   ComponentIdGenerator idGenerator,
                                   VersionParser versionParser,
-                                  GraphVariantSelector variantSelector
+                                  GraphVariantSelector variantSelector,
+                                  @Nullable ExecutorService metadataPrefetchExecutor
     ) {
         this.idResolver = componentIdResolver;
         this.metaDataResolver = componentMetaDataResolver;
@@ -135,6 +139,7 @@ public DependencyGraphBuilder(DependencyToComponentIdResolver componentIdResolve
         this.versionParser = versionParser;
         this.conflictTracker = new ResolutionConflictTracker(moduleConflictHandler, capabilitiesConflictHandler);
         this.variantSelector = variantSelector;
+        this.metadataPrefetchExecutor = metadataPrefetchExecutor;
     }
 
     public void resolve(
@@ -165,7 +170,14 @@ public void resolve(
             variantSelector
         );
 
-        traverseGraph(resolveState);
+        MetadataPrefetcher prefetcher = metadataPrefetchExecutor == null ? null : new MetadataPrefetcher(metaDataResolver, versionSelectorScheme, metadataPrefetchExecutor);
+        try {
+            traverseGraph(resolveState, prefetcher);
+        } finally {
+            if (prefetcher != null) {
+                prefetcher.stop();
+            }
+        }
 
         validateGraph(resolveState, resolutionStrategy.isFailingOnDynamicVersions(), resolutionStrategy.isFailingOnChangingVersions());
 
@@ -175,7 +187,7 @@ public void resolve(
     /**
      * Traverses the dependency graph, resolving conflicts and building the paths from the root configuration.
      */
-    private void traverseGraph(final ResolveState resolveState) {
+    private void traverseGraph(final ResolveState resolveState, @Nullable MetadataPrefetcher prefetcher) {
         resolveState.onMoreSelected(resolveState.getRoot());
         final List<EdgeState> dependencies = new ArrayList<>();
 
@@ -190,9 +202,9 @@ private void traverseGraph(final ResolveState resolveState) {
                 // Initialize and collect any new outgoing edges of this node
                 dependencies.clear();
                 node.visitOutgoingDependencies(dependencies);
-                boolean edgeWasProcessed = resolveEdges(node, dependencies, ENDORSE_STRICT_VERSIONS_DEPENDENCY_SPEC, false, resolveState);
+                boolean edgeWasProcessed = resolveEdges(node, dependencies, ENDORSE_STRICT_VERSIONS_DEPENDENCY_SPEC, false, resolveState, prefetcher);
                 node.collectEndorsedStrictVersions(dependencies);
-                resolveEdges(node, dependencies, NOT_ENDORSE_STRICT_VERSIONS_DEPENDENCY_SPEC, edgeWasProcessed, resolveState);
+                resolveEdges(node, dependencies, NOT_ENDORSE_STRICT_VERSIONS_DEPENDENCY_SPEC, edgeWasProcessed, resolveState, prefetcher);
             } else {
                 // We have some batched up conflicts. Resolve the first, and continue traversing the graph
                 if (moduleConflictHandler.hasConflicts()) {
@@ -249,13 +261,17 @@ private boolean resolveEdges(
         final List<EdgeState> dependencies,
         final Spec<EdgeState> dependencyFilter,
         final boolean recomputeSelectors,
-        final ResolveState resolveState) {
+        final ResolveState resolveState,
+        @Nullable final MetadataPrefetcher prefetcher) {
         if (dependencies.isEmpty()) {
             return false;
         }
         if (performSelectionSerially(dependencies, dependencyFilter, resolveState, recomputeSelectors)) {
             maybeDownloadMetadataInParallel(node, dependencies, dependencyFilter);
             attachToTargetRevisionsSerially(dependencies, dependencyFilter);
+            if (prefetcher != null) {
+                prefetchMetadataOfTargetDependencies(prefetcher, dependencies, dependencyFilter);
+            }
             return true;
         } else {
             return false;
@@ -368,6 +384,20 @@ private void attachToTargetRevisionsSerially(List<EdgeState> dependencies, Spec<
         }
     }
 
+    /**
+     * Starts fetching the metadata of the dependencies of the newly attached targets, rather than waiting for the traversal to visit them.
+     */
+    private static void prefetchMetadataOfTargetDependencies(MetadataPrefetcher prefetcher, List<EdgeState> dependencies, Spec<EdgeState> dependencyFilter) {
+        for (EdgeState dependency : dependencies) {
+            if (!dependencyFilter.isSatisfiedBy(dependency)) {
+                continue;
+            }
+            for (NodeState targetNode : dependency.getTargetNodes()) {
+                prefetcher.prefetchDependenciesOf(targetNode);
+            }
+        }
+    }
+
     private void validateGraph(ResolveState resolveState, boolean denyDynamicSelectors, boolean denyChangingModules) {
         for (ModuleResolveState module : resolveState.getModules()) {
             ComponentState selected = module.getSelected();
@@ -0,0 +1,142 @@
+/*
+ * Copyright 2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.gradle.api.internal.artifacts.ivyservice.resolveengine.graph.builder;
+
+import org.gradle.api.artifacts.VersionConstraint;
+import org.gradle.api.artifacts.component.ComponentSelector;
+import org.gradle.api.artifacts.component.ModuleComponentIdentifier;
+import org.gradle.api.artifacts.component.ModuleComponentSelector;
+import org.gradle.api.internal.artifacts.ivyservice.ivyresolve.strategy.VersionSelectorScheme;
+import org.gradle.internal.component.external.model.DefaultModuleComponentIdentifier;
+import org.gradle.internal.component.model.DefaultComponentOverrideMetadata;
+import org.gradle.internal.component.model.DependencyMetadata;
+import org.gradle.internal.operations.BuildOperationRef;
+import org.gradle.internal.operations.CurrentBuildOperationRef;
+import org.gradle.internal.resolve.resolver.ComponentMetaDataResolver;
+import org.gradle.internal.resolve.result.DefaultBuildableComponentResolveResult;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import javax.annotation.Nullable;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+
+/**
+ * Speculatively resolves the metadata of the modules a node depends on, as soon as the node is attached to the graph,
+ * so that it is already cached by the time the graph traversal reaches them.
+ *
+ * The dependencies are taken from the node as the traversal would see them, with the exclusions of its incoming edges
+ * and the dependency substitution rules applied, so modules the graph would never request are not fetched.
+ *
+ * The results of the prefetches are discarded. The graph still resolves each component it selects, and a prefetch only saves it
+ * the round trip to the repository. Prefetches of modules that are later evicted by conflict resolution are simply never used.
+ *
+ * Only used from the thread that traverses the graph.
+ */
+class MetadataPrefetcher {
+    private static final Logger LOGGER = LoggerFactory.getLogger(MetadataPrefetcher.class);
+
+    private final ComponentMetaDataResolver resolver;
+    private final VersionSelectorScheme versionSelectorScheme;
+    private final ExecutorService executor;
+    @Nullable
+    private final BuildOperationRef parentOperation;
+    private final Set<Long> expandedNodes = new HashSet<>();
+    private final Set<ModuleComponentIdentifier> requested = new HashSet<>();
+    private final List<Future<?>> prefetches = new ArrayList<>();
+
+    MetadataPrefetcher(ComponentMetaDataResolver resolver, VersionSelectorScheme versionSelectorScheme, ExecutorService executor) {
+        this.resolver = resolver;
+        this.versionSelectorScheme = versionSelectorScheme;
+        this.executor = executor;
+        this.parentOperation = CurrentBuildOperationRef.instance().get();
+    }
+
+    /**
+     * Starts resolving the metadata of the modules that the given node depends on with fixed versions.
+     */
+    void prefetchDependenciesOf(NodeState node) {
+        if (!expandedNodes.add(node.getNodeId())) {
+            return;
+        }
+        prefetch(node.getDependenciesToPrefetch());
+    }
+
+    void prefetch(List<DependencyState> dependencies) {
+        for (DependencyState dependency : dependencies) {
+            maybePrefetch(dependency.getDependency());
+        }
+    }
+
+    private void maybePrefetch(DependencyMetadata dependency) {
+        if (dependency.isConstraint() || dependency.isChanging() || !dependency.getArtifacts().isEmpty()) {
+            // The graph would resolve these with different override metadata, so a prefetch would not help
+            return;
+        }
+        ComponentSelector selector = dependency.getSelector();
+        if (!(selector instanceof ModuleComponentSelector)) {
+            return;
+        }
+        ModuleComponentSelector moduleSelector = (ModuleComponentSelector) selector;
+        VersionConstraint versionConstraint = moduleSelector.getVersionConstraint();
+        String version = versionConstraint.getRequiredVersion();
+        if (version.isEmpty() || !versionConstraint.getRejectedVersions().isEmpty() || versionSelectorScheme.parseSelector(version).isDynamic()) {
+            return;
+        }
+        ModuleComponentIdentifier id = DefaultModuleComponentIdentifier.newId(moduleSelector.getModuleIdentifier(), version);
+        if (!requested.add(id) || resolver.isFetchingMetadataCheap(id)) {
+            return;
+        }
+        prefetches.add(executor.submit(() -> CurrentBuildOperationRef.instance().with(parentOperation, () -> prefetch(id))));
+    }
+
+    private void prefetch(ModuleComponentIdentifier id) {
+        try {
+            resolver.resolve(id, DefaultComponentOverrideMetadata.EMPTY, new DefaultBuildableComponentResolveResult());
+        } catch (Exception e) {
+            // Failures are reported when the graph resolves the component, if it is still part of the graph
+            LOGGER.debug("Could not prefetch metadata for {}.", id, e);
+        }
+    }
+
+    /**
+     * Discards the prefetches that have not started yet and waits for the running ones, so none outlive the resolution.
+     */
+    void stop() {
+        for (Future<?> prefetch : prefetches) {
+            prefetch.cancel(false);
+        }
+        for (Future<?> prefetch : prefetches) {
+            if (!prefetch.isCancelled()) {
+                try {
+                    prefetch.get();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    return;
+                } catch (ExecutionException e) {
+                    // Already logged by the prefetch
+                }
+            }
+        }
+        prefetches.clear();
+    }
+}
@@ -21,6 +21,7 @@
 import com.google.common.collect.ImmutableSet;
 import com.google.common.collect.LinkedHashMultimap;
 import com.google.common.collect.Lists;
+import com.google.common.collect.Maps;
 import com.google.common.collect.Multimap;
 import com.google.common.collect.Sets;
 import org.apache.commons.lang.StringUtils;
@@ -105,9 +106,9 @@ public class NodeState implements DependencyGraphNode {
     private Set<EdgeState> edgesToRecompute;
     private Multimap<ModuleIdentifier, DependencyState> potentiallyActivatedConstraints;
 
-    // caches
-    private final Map<DependencyMetadata, DependencyState> dependencyStateCache = new HashMap<>();
-    private final Map<DependencyState, EdgeState> edgesCache = new HashMap<>();
+    // caches, created when the node first has dependencies, as most nodes of large graphs are leaves
+    private Map<DependencyMetadata, DependencyState> dependencyStateCache;
+    private Map<DependencyState, EdgeState> edgesCache;
 
     // Caches the list of dependency states for dependencies
     private List<DependencyState> cachedDependencyStates;
@@ -434,6 +435,33 @@ private DependencyState createDependencyState(DependencyMetadata md) {
         return new DependencyState(md, resolveState.getComponentSelectorConverter());
     }
 
+    /**
+     * Returns the dependencies of this node that a traversal would currently follow to modules not yet part of the graph,
+     * so that their metadata can be fetched ahead of the traversal.
+     *
+     * The exclusions of the incoming edges and the dependency substitution rules are applied as they are on traversal,
+     * but nothing is recorded on the node. Modules already part of the graph are left out, as the version the graph selects
+     * for them may differ from the declared one, for example because of strict versions declared by an ancestor.
+     */
+    List<DependencyState> getDependenciesToPrefetch() {
+        if (transitiveEdgeCount == 0 || metadata.isExternalVariant() || dependenciesMayChange) {
+            return Collections.emptyList();
+        }
+        ExcludeSpec resolutionFilter = computeModuleResolutionFilter(incomingEdges);
+        List<DependencyState> dependencies = new ArrayList<>();
+        for (DependencyMetadata dependency : getAllDependencies()) {
+            DependencyState dependencyState = createDependencyState(dependency);
+            if (isExcluded(resolutionFilter, dependencyState)) {
+                continue;
+            }
+            dependencyState = maybeSubstitute(dependencyState, resolveState.getDependencySubstitutionApplicator());
+            if (dependencyState.failure == null && !isExcluded(resolutionFilter, dependencyState) && !resolveState.hasModule(dependencyState.getModuleIdentifier())) {
+                dependencies.add(dependencyState);
+            }
+        }
+        return dependencies;
+    }
+
     /**
      * Iterate over the dependencies originating in this node, adding them either as a 'pending' dependency
      * or adding them to the `discoveredEdges` collection (and `this.outgoingEdges`)
@@ -533,6 +561,9 @@ private List<DependencyState> cacheDependencyStates(List<? extends DependencyMet
         if (dependencies.isEmpty()) {
             return Collections.emptyList();
         }
+        if (dependencyStateCache == null) {
+            dependencyStateCache = Maps.newHashMapWithExpectedSize(dependencies.size());
+        }
         List<DependencyState> tmp = Lists.newArrayListWithCapacity(dependencies.size());
         for (DependencyMetadata dependency : dependencies) {
             tmp.add(cachedDependencyStateFor(dependency));
@@ -545,6 +576,9 @@ private DependencyState cachedDependencyStateFor(DependencyMetadata md) {
     }
 
     private void createAndLinkEdgeState(DependencyState dependencyState, Collection<EdgeState> discoveredEdges, ExcludeSpec resolutionFilter, boolean deferSelection) {
+        if (edgesCache == null) {
+            edgesCache = new HashMap<>();
+        }
         EdgeState dependencyEdge = edgesCache.computeIfAbsent(dependencyState, ds -> new EdgeState(this, ds, resolutionFilter, resolveState));
         dependencyEdge.computeSelector(); // the selector changes, if the 'versionProvidedByAncestors' state changes
         outgoingEdges.add(dependencyEdge);
@@ -183,6 +183,13 @@ public ModuleResolveState getModule(ModuleIdentifier id) {
         return getModule(id, false);
     }
 
+    /**
+     * Returns true when the graph already selects a version of the given module, or is about to.
+     */
+    boolean hasModule(ModuleIdentifier id) {
+        return modules.containsKey(id);
+    }
+
     private ModuleResolveState getModule(ModuleIdentifier id, boolean rootModule) {
         return modules.computeIfAbsent(id, mid -> new ModuleResolveState(idGenerator, id, metaDataResolver, attributesFactory, versionComparator, versionParser, selectorStateResolver, resolveOptimizations, rootModule, conflictResolution));
     }
@@ -0,0 +1,57 @@
+/*
+ * Copyright 2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.gradle.api.internal.artifacts.verification.verifier;
+
+import org.gradle.api.internal.artifacts.verification.serializer.DependencyVerificationsXmlReader;
+import org.gradle.cache.internal.CrossBuildInMemoryCache;
+import org.gradle.cache.internal.CrossBuildInMemoryCacheFactory;
+import org.gradle.internal.UncheckedException;
+import org.gradle.internal.hash.HashCode;
+import org.gradle.internal.service.scopes.Scope;
+import org.gradle.internal.service.scopes.ServiceScope;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileNotFoundException;
+
+/**
+ * Keeps the dependency verifiers read from verification metadata files across builds, so that an unchanged
+ * file is not parsed again by every build of a daemon. Verifiers are immutable, so they can be shared between builds.
+ */
+@ServiceScope(Scope.Global.class)
+public class DependencyVerifierCache {
+    private final CrossBuildInMemoryCache<HashCode, DependencyVerifier> verifiers;
+
+    public DependencyVerifierCache(CrossBuildInMemoryCacheFactory cacheFactory) {
+        this.verifiers = cacheFactory.newCache();
+    }
+
+    /**
+     * Returns the verifier for the given verification metadata file, reading the file only when no verifier for the same content is cached.
+     *
+     * @param contentHash the hash of the content of the file
+     */
+    public DependencyVerifier readFromXml(File verificationsFile, HashCode contentHash) {
+        return verifiers.get(contentHash, hash -> {
+            try {
+                return DependencyVerificationsXmlReader.readFromXml(new FileInputStream(verificationsFile));
+            } catch (FileNotFoundException e) {
+                throw UncheckedException.throwAsUncheckedException(e);
+            }
+        });
+    }
+}
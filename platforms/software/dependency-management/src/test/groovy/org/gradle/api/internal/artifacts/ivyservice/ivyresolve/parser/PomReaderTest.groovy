@@ -19,6 +19,8 @@ import org.gradle.api.internal.artifacts.DefaultModuleIdentifier
 import org.gradle.api.internal.artifacts.DefaultModuleVersionIdentifier
 import org.gradle.api.internal.artifacts.ImmutableModuleIdentifierFactory
 import org.gradle.api.internal.artifacts.ivyservice.ivyresolve.parser.data.MavenDependencyKey
+import org.gradle.api.internal.file.TestFiles
+import org.gradle.internal.resource.local.LocalFileStandInExternalResource
 import org.xml.sax.SAXParseException
 import spock.lang.Issue
 
@@ -128,6 +130,53 @@ class PomReaderTest extends AbstractPomReaderTest {
         !pomReader.hasGradleMetadataMarker()
     }
 
+    def "reads text of elements containing CDATA sections and comments"() {
+        when:
+        pomFile << """
+<project>
+    <!-- do_not_remove: published-with-gradle-metadata -->
+    <modelVersion>4.0.0</modelVersion>
+    <groupId><![CDATA[group-one]]></groupId>
+    <artifactId>artifact-<!-- comment -->one</artifactId>
+    <version>version-<![CDATA[one]]></version>
+</project>
+"""
+        pomReader = new PomReader(locallyAvailableExternalResource, moduleIdentifierFactory)
+
+        then:
+        pomReader.groupId == 'group-one'
+        pomReader.artifactId == 'artifact-one'
+        pomReader.version == 'version-one'
+        pomReader.hasGradleMetadataMarker()
+    }
+
+    def "can parse POM after failing to parse another POM"() {
+        given:
+        def invalidPom = tmpDir.file('invalid.xml')
+        invalidPom << "<project><groupId>"
+
+        when:
+        new PomReader(new LocalFileStandInExternalResource(invalidPom, TestFiles.fileSystem()), moduleIdentifierFactory)
+
+        then:
+        thrown(MetaDataParseException)
+
+        when:
+        pomFile << """
+<project>
+    <modelVersion>4.0.0</modelVersion>
+    <groupId>group-one</groupId>
+    <artifactId>artifact-one</artifactId>
+    <version>version-one</version>
+</project>
+"""
+        pomReader = new PomReader(locallyAvailableExternalResource, moduleIdentifierFactory)
+
+        then:
+        pomReader.groupId == 'group-one'
+        pomReader.version == 'version-one'
+    }
+
     def "use custom properties in POM project coordinates"() {
         when:
         pomFile << """
@@ -0,0 +1,86 @@
+/*
+ * Copyright 2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.gradle.api.internal.artifacts.ivyservice.modulecache
+
+import org.gradle.cache.ExclusiveCacheAccessCoordinator
+import spock.lang.Specification
+
+class PersistentCacheWriteQueueTest extends Specification {
+    def coordinator = Mock(ExclusiveCacheAccessCoordinator)
+    def queue = new PersistentCacheWriteQueue(coordinator, 3)
+    def cache = new Object()
+    def written = []
+
+    def "applies writes in a single cache access once a batch is complete"() {
+        when:
+        queue.write(cache, "a", { written << "a" })
+        queue.write(cache, "b", { written << "b" })
+
+        then:
+        0 * coordinator._
+        written.empty
+
+        when:
+        queue.write(cache, "c", { written << "c" })
+
+        then:
+        1 * coordinator.useCache(_ as Runnable) >> { Runnable action -> action.run() }
+        written == ["a", "b", "c"]
+    }
+
+    def "later write of an entry replaces the pending one"() {
+        when:
+        queue.write(cache, "a", { written << "a1" })
+        queue.write(cache, "a", { written << "a2" })
+        queue.close()
+
+        then:
+        1 * coordinator.useCache(_ as Runnable) >> { Runnable action -> action.run() }
+        written == ["a2"]
+    }
+
+    def "keeps the writes of different caches apart"() {
+        when:
+        queue.write(cache, "a", { written << "a" })
+        queue.write(new Object(), "a", { written << "other a" })
+        queue.close()
+
+        then:
+        1 * coordinator.useCache(_ as Runnable) >> { Runnable action -> action.run() }
+        written == ["a", "other a"]
+    }
+
+    def "discarded writes are not applied"() {
+        when:
+        queue.write(cache, "a", { written << "a" })
+        queue.write(cache, "b", { written << "b" })
+        queue.discard(cache, "a")
+        queue.close()
+
+        then:
+        1 * coordinator.useCache(_ as Runnable) >> { Runnable action -> action.run() }
+        written == ["b"]
+    }
+
+    def "does not access the cache when there is nothing to write"() {
+        when:
+        queue.close()
+
+        then:
+        0 * coordinator._
+    }
+}
@@ -0,0 +1,105 @@
+/*
+ * Copyright 2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.gradle.api.internal.artifacts.ivyservice.resolveengine.graph.builder
+
+import com.google.common.util.concurrent.MoreExecutors
+import org.gradle.api.artifacts.component.ModuleComponentIdentifier
+import org.gradle.api.internal.artifacts.ComponentSelectorConverter
+import org.gradle.api.internal.artifacts.DefaultModuleIdentifier
+import org.gradle.api.internal.artifacts.dependencies.DefaultImmutableVersionConstraint
+import org.gradle.api.internal.artifacts.ivyservice.ivyresolve.strategy.DefaultVersionComparator
+import org.gradle.api.internal.artifacts.ivyservice.ivyresolve.strategy.DefaultVersionSelectorScheme
+import org.gradle.api.internal.artifacts.ivyservice.ivyresolve.strategy.VersionParser
+import org.gradle.internal.component.external.model.DefaultModuleComponentIdentifier
+import org.gradle.internal.component.external.model.DefaultModuleComponentSelector
+import org.gradle.internal.component.model.DefaultComponentOverrideMetadata
+import org.gradle.internal.component.model.DependencyMetadata
+import org.gradle.internal.resolve.resolver.ComponentMetaDataResolver
+import spock.lang.Specification
+
+class MetadataPrefetcherTest extends Specification {
+
+    def resolver = Mock(ComponentMetaDataResolver)
+    def prefetcher = new MetadataPrefetcher(
+        resolver,
+        new DefaultVersionSelectorScheme(new DefaultVersionComparator(), new VersionParser()),
+        MoreExecutors.newDirectExecutorService()
+    )
+
+    def "prefetches modules that are depended on with a fixed version"() {
+        when:
+        prefetcher.prefetch([dependency("b", "1.0"), dependency("c", "2.0")])
+        prefetcher.stop()
+
+        then:
+        1 * resolver.resolve(id("b", "1.0"), DefaultComponentOverrideMetadata.EMPTY, _)
+        1 * resolver.resolve(id("c", "2.0"), DefaultComponentOverrideMetadata.EMPTY, _)
+    }
+
+    def "prefetches each module once"() {
+        when:
+        prefetcher.prefetch([dependency("c", "1.0")])
+        prefetcher.prefetch([dependency("c", "1.0")])
+        prefetcher.stop()
+
+        then:
+        1 * resolver.resolve(id("c", "1.0"), _, _)
+    }
+
+    def "does not prefetch dynamic versions or constraints"() {
+        when:
+        prefetcher.prefetch([dependency("b", "1.+"), dependency("c", "[1.0,2.0)"), dependency("d", "1.0", true)])
+        prefetcher.stop()
+
+        then:
+        0 * resolver.resolve(_, _, _)
+    }
+
+    def "does not prefetch modules whose metadata is cheap to fetch"() {
+        when:
+        prefetcher.prefetch([dependency("b", "1.0")])
+        prefetcher.stop()
+
+        then:
+        1 * resolver.isFetchingMetadataCheap(id("b", "1.0")) >> true
+        0 * resolver.resolve(_, _, _)
+    }
+
+    def "ignores failures to prefetch"() {
+        when:
+        prefetcher.prefetch([dependency("b", "1.0")])
+        prefetcher.stop()
+
+        then:
+        1 * resolver.resolve(id("b", "1.0"), _, _) >> { throw new RuntimeException("broken") }
+        noExceptionThrown()
+    }
+
+    private static ModuleComponentIdentifier id(String name, String version) {
+        DefaultModuleComponentIdentifier.newId(DefaultModuleIdentifier.newId("org", name), version)
+    }
+
+    private DependencyState dependency(String name, String version, boolean constraint = false) {
+        def selector = DefaultModuleComponentSelector.newSelector(DefaultModuleIdentifier.newId("org", name), DefaultImmutableVersionConstraint.of(version))
+        def metadata = Stub(DependencyMetadata) {
+            getSelector() >> selector
+            isConstraint() >> constraint
+            getArtifacts() >> []
+        }
+        new DependencyState(metadata, Stub(ComponentSelectorConverter))
+    }
+}
@@ -0,0 +1,84 @@
+/*
+ * Copyright 2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.gradle.api.internal.artifacts.verification.verifier
+
+import org.gradle.api.internal.artifacts.verification.exceptions.DependencyVerificationException
+import org.gradle.cache.internal.TestCrossBuildInMemoryCacheFactory
+import org.gradle.internal.hash.TestHashCodes
+import org.gradle.test.fixtures.file.TestNameTestDirectoryProvider
+import org.junit.Rule
+import spock.lang.Specification
+
+class DependencyVerifierCacheTest extends Specification {
+    @Rule
+    TestNameTestDirectoryProvider tmpDir = new TestNameTestDirectoryProvider(getClass())
+
+    def cache = new DependencyVerifierCache(new TestCrossBuildInMemoryCacheFactory())
+    def file = tmpDir.file("verification-metadata.xml")
+
+    def "reuses the verifier read for the same content"() {
+        file.text = metadata(true)
+
+        when:
+        def first = cache.readFromXml(file, TestHashCodes.hashCodeFrom(1))
+        def second = cache.readFromXml(file, TestHashCodes.hashCodeFrom(1))
+
+        then:
+        first.is(second)
+        first.configuration.verifyMetadata
+    }
+
+    def "reads the file again when its content changes"() {
+        file.text = metadata(true)
+        def first = cache.readFromXml(file, TestHashCodes.hashCodeFrom(1))
+
+        when:
+        file.text = metadata(false)
+        def second = cache.readFromXml(file, TestHashCodes.hashCodeFrom(2))
+
+        then:
+        !second.is(first)
+        !second.configuration.verifyMetadata
+    }
+
+    def "does not cache failures to read the file"() {
+        file.text = "invalid"
+
+        when:
+        cache.readFromXml(file, TestHashCodes.hashCodeFrom(1))
+
+        then:
+        thrown(DependencyVerificationException)
+
+        when:
+        file.text = metadata(true)
+        def verifier = cache.readFromXml(file, TestHashCodes.hashCodeFrom(1))
+
+        then:
+        verifier.configuration.verifyMetadata
+    }
+
+    private static String metadata(boolean verifyMetadata) {
+        """<?xml version="1.0" encoding="UTF-8"?>
+<verification-metadata>
+   <configuration>
+      <verify-metadata>$verifyMetadata</verify-metadata>
+   </configuration>
+</verification-metadata>
+"""
+    }
+}
@@ -346,6 +346,8 @@ private void doRead(long classId, long testId, boolean allClassOutput, TestOutpu
                 dataFile.seek(region.start);
                 long maxPos = region.stop - region.start;
                 KryoBackedDecoder decoder = new KryoBackedDecoder(new RandomAccessFileInputStream(dataFile));
+                // Reused for all messages, as output is usually written as many short lines
+                byte[] stringBytes = new byte[0];
                 while (decoder.getReadPosition() <= maxPos) {
                     boolean readStdout = decoder.readBoolean();
                     long readClassId = decoder.readSmallLong();
@@ -370,11 +372,13 @@ private void doRead(long classId, long testId, boolean allClassOutput, TestOutpu
                     }
 
                     if (testId == 0 || testId == readTestId) {
-                        byte[] stringBytes = new byte[readLength];
-                        decoder.readBytes(stringBytes);
+                        if (stringBytes.length < readLength) {
+                            stringBytes = new byte[readLength];
+                        }
+                        decoder.readBytes(stringBytes, 0, readLength);
                         String message;
                         try {
-                            message = new String(stringBytes, messageStorageCharset.name());
+                            message = new String(stringBytes, 0, readLength, messageStorageCharset.name());
                         } catch (UnsupportedEncodingException e) {
                             // shouldn't happen
                             throw UncheckedException.throwAsUncheckedException(e);
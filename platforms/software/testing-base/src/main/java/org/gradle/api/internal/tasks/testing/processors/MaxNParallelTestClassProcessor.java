@@ -30,25 +30,32 @@
 import java.util.List;
 
 /**
- * Manages a set of parallel TestClassProcessors. Uses a simple round-robin algorithm to assign test classes to
- * processors.
+ * Manages a set of parallel TestClassProcessors. Assigns each test class to the processor with the least estimated
+ * work assigned so far. When no durations from a previous execution are known, every class has the same estimate
+ * and this is a simple round-robin.
  */
 public class MaxNParallelTestClassProcessor implements TestClassProcessor {
     private final int maxProcessors;
     private final Factory<TestClassProcessor> factory;
     private final ActorFactory actorFactory;
+    private final TestClassDurationEstimates durationEstimates;
     private TestResultProcessor resultProcessor;
-    private int pos;
     private List<TestClassProcessor> processors = new ArrayList<TestClassProcessor>();
+    private List<Long> assignedWork = new ArrayList<Long>();
     private List<TestClassProcessor> rawProcessors = new ArrayList<TestClassProcessor>();
     private List<Actor> actors = new ArrayList<Actor>();
     private Actor resultProcessorActor;
     private volatile boolean stoppedNow;
 
     public MaxNParallelTestClassProcessor(int maxProcessors, Factory<TestClassProcessor> factory, ActorFactory actorFactory) {
+        this(maxProcessors, factory, actorFactory, TestClassDurationEstimates.NONE);
+    }
+
+    public MaxNParallelTestClassProcessor(int maxProcessors, Factory<TestClassProcessor> factory, ActorFactory actorFactory, TestClassDurationEstimates durationEstimates) {
         this.maxProcessors = maxProcessors;
         this.factory = factory;
         this.actorFactory = actorFactory;
+        this.durationEstimates = durationEstimates;
     }
 
     @Override
@@ -64,20 +71,32 @@ public void processTestClass(TestClassRunInfo testClass) {
             return;
         }
 
-        TestClassProcessor processor;
+        int index;
         if (processors.size() < maxProcessors) {
-            processor = factory.create();
+            TestClassProcessor processor = factory.create();
             rawProcessors.add(processor);
             Actor actor = actorFactory.createActor(processor);
             processor = actor.getProxy(TestClassProcessor.class);
             actors.add(actor);
             processors.add(processor);
+            assignedWork.add(0L);
             processor.startProcessing(resultProcessor);
+            index = processors.size() - 1;
         } else {
-            processor = processors.get(pos);
-            pos = (pos + 1) % processors.size();
+            index = leastLoadedProcessor();
+        }
+        assignedWork.set(index, assignedWork.get(index) + durationEstimates.estimate(testClass.getTestClassName()));
+        processors.get(index).processTestClass(testClass);
+    }
+
+    private int leastLoadedProcessor() {
+        int leastLoaded = 0;
+        for (int i = 1; i < assignedWork.size(); i++) {
+            if (assignedWork.get(i) < assignedWork.get(leastLoaded)) {
+                leastLoaded = i;
+            }
         }
-        processor.processTestClass(testClass);
+        return leastLoaded;
     }
 
     @Override
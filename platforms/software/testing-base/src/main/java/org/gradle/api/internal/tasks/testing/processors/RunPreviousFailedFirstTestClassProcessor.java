@@ -20,21 +20,34 @@
 import org.gradle.api.internal.tasks.testing.TestClassRunInfo;
 import org.gradle.api.internal.tasks.testing.TestResultProcessor;
 
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
 import java.util.LinkedHashSet;
+import java.util.List;
 import java.util.Set;
 
 /**
  * In order to speed up the development feedback cycle, this class guarantee previous failed test classes
  * to be passed to its delegate first.
+ *
+ * When duration estimates are given, within the previously failed and the other test classes, the classes that took the longest in the previous execution
+ * are passed first, so that parallel processors don't end up waiting on a long running class started last.
  */
 public class RunPreviousFailedFirstTestClassProcessor implements TestClassProcessor {
     private final Set<String> previousFailedTestClasses;
+    private final TestClassDurationEstimates durationEstimates;
     private final TestClassProcessor delegate;
     private final LinkedHashSet<TestClassRunInfo> prioritizedTestClasses = new LinkedHashSet<TestClassRunInfo>();
     private final LinkedHashSet<TestClassRunInfo> otherTestClasses = new LinkedHashSet<TestClassRunInfo>();
 
     public RunPreviousFailedFirstTestClassProcessor(Set<String> previousFailedTestClasses, TestClassProcessor delegate) {
+        this(previousFailedTestClasses, TestClassDurationEstimates.NONE, delegate);
+    }
+
+    public RunPreviousFailedFirstTestClassProcessor(Set<String> previousFailedTestClasses, TestClassDurationEstimates durationEstimates, TestClassProcessor delegate) {
         this.previousFailedTestClasses = previousFailedTestClasses;
+        this.durationEstimates = durationEstimates;
         this.delegate = delegate;
     }
 
@@ -54,15 +67,31 @@ public void processTestClass(TestClassRunInfo testClass) {
 
     @Override
     public void stop() {
-        for (TestClassRunInfo test : prioritizedTestClasses) {
+        for (TestClassRunInfo test : longestFirst(prioritizedTestClasses)) {
             delegate.processTestClass(test);
         }
-        for (TestClassRunInfo test : otherTestClasses) {
+        for (TestClassRunInfo test : longestFirst(otherTestClasses)) {
             delegate.processTestClass(test);
         }
         delegate.stop();
     }
 
+    private Iterable<TestClassRunInfo> longestFirst(Set<TestClassRunInfo> testClasses) {
+        if (durationEstimates.isEmpty()) {
+            return testClasses;
+        }
+        final Comparator<String> longestFirst = durationEstimates.longestFirst();
+        List<TestClassRunInfo> sorted = new ArrayList<TestClassRunInfo>(testClasses);
+        // The sort is stable, so classes with the same estimate keep their discovery order
+        Collections.sort(sorted, new Comparator<TestClassRunInfo>() {
+            @Override
+            public int compare(TestClassRunInfo left, TestClassRunInfo right) {
+                return longestFirst.compare(left.getTestClassName(), right.getTestClassName());
+            }
+        });
+        return sorted;
+    }
+
     @Override
     public void stopNow() {
         delegate.stopNow();
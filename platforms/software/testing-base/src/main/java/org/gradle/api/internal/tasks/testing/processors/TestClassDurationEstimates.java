@@ -0,0 +1,77 @@
+/*
+ * Copyright 2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package org.gradle.api.internal.tasks.testing.processors;
+
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.Map;
+
+/**
+ * Estimates how long a test class takes to execute, based on the durations recorded by a previous execution.
+ *
+ * Classes without a recorded duration are assumed to take the mean of the recorded durations.
+ */
+public class TestClassDurationEstimates {
+    public static final TestClassDurationEstimates NONE = new TestClassDurationEstimates(Collections.<String, Long>emptyMap());
+
+    private final Map<String, Long> previousDurations;
+    private final long defaultEstimate;
+
+    public TestClassDurationEstimates(Map<String, Long> previousDurations) {
+        this.previousDurations = previousDurations;
+        this.defaultEstimate = meanOf(previousDurations);
+    }
+
+    public boolean isEmpty() {
+        return previousDurations.isEmpty();
+    }
+
+    /**
+     * Returns the estimated duration of the given test class in milliseconds. Always at least 1.
+     */
+    public long estimate(String testClassName) {
+        Long duration = previousDurations.get(testClassName);
+        if (duration == null) {
+            return defaultEstimate;
+        }
+        return Math.max(1, duration);
+    }
+
+    /**
+     * Orders test classes so that the longest running ones come first.
+     */
+    public Comparator<String> longestFirst() {
+        return new Comparator<String>() {
+            @Override
+            public int compare(String left, String right) {
+                return Long.compare(estimate(right), estimate(left));
+            }
+        };
+    }
+
+    private static long meanOf(Map<String, Long> durations) {
+        if (durations.isEmpty()) {
+            return 1;
+        }
+        long total = 0;
+        for (Long duration : durations.values()) {
+            total += Math.max(1, duration);
+        }
+        return Math.max(1, total / durations.size());
+    }
+}
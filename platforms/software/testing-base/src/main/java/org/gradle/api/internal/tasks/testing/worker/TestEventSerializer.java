@@ -91,13 +91,14 @@ public void write(Encoder encoder, T value) throws Exception {
     private static class IdSerializer implements Serializer<CompositeIdGenerator.CompositeId> {
         @Override
         public CompositeIdGenerator.CompositeId read(Decoder decoder) throws Exception {
-            return new CompositeIdGenerator.CompositeId(decoder.readLong(), decoder.readLong());
+            return new CompositeIdGenerator.CompositeId(decoder.readSmallLong(), decoder.readSmallLong());
         }
 
         @Override
         public void write(Encoder encoder, CompositeIdGenerator.CompositeId value) throws Exception {
-            encoder.writeLong((Long) value.getScope());
-            encoder.writeLong((Long) value.getId());
+            // Worker and test ids are small positive numbers, and every test event refers to at least one id
+            encoder.writeSmallLong((Long) value.getScope());
+            encoder.writeSmallLong((Long) value.getId());
         }
     }
 
@@ -118,14 +119,14 @@ private static class TestStartEventSerializer implements Serializer<TestStartEve
 
         @Override
         public TestStartEvent read(Decoder decoder) throws Exception {
-            long time = decoder.readLong();
+            long time = decoder.readSmallLong();
             Object id = idSerializer.read(decoder);
             return new TestStartEvent(time, id);
         }
 
         @Override
         public void write(Encoder encoder, TestStartEvent value) throws Exception {
-            encoder.writeLong(value.getStartTime());
+            encoder.writeSmallLong(value.getStartTime());
             idSerializer.write(encoder, (CompositeIdGenerator.CompositeId) value.getParentId());
         }
     }
@@ -135,14 +136,14 @@ private static class TestCompleteEventSerializer implements Serializer<TestCompl
 
         @Override
         public TestCompleteEvent read(Decoder decoder) throws Exception {
-            long endTime = decoder.readLong();
+            long endTime = decoder.readSmallLong();
             TestResult.ResultType result = typeSerializer.read(decoder);
             return new TestCompleteEvent(endTime, result);
         }
 
         @Override
         public void write(Encoder encoder, TestCompleteEvent value) throws Exception {
-            encoder.writeLong(value.getEndTime());
+            encoder.writeSmallLong(value.getEndTime());
             typeSerializer.write(encoder, value.getResultType());
         }
     }
@@ -67,6 +67,22 @@ class TestResultSerializerTest extends Specification {
         readClass2.results.empty
     }
 
+    def "reads display names that are the same as names as the same instance"() {
+        def class1 = new TestClassResult(1, 'Class1', 'Class1', 1234)
+        class1.add(new TestMethodResult(1, "method1", "method1", TestResult.ResultType.SUCCESS, 100, 2300))
+        class1.add(new TestMethodResult(2, "method2", "method 2", TestResult.ResultType.SUCCESS, 100, 2300))
+
+        when:
+        def read = serialize([class1])
+
+        then:
+        def readClass1 = read[0]
+        readClass1.classDisplayName.is(readClass1.className)
+        readClass1.results[0].displayName.is(readClass1.results[0].name)
+        readClass1.results[1].name == "method2"
+        readClass1.results[1].displayName == "method 2"
+    }
+
     List<TestClassResult> serialize(Collection<TestClassResult> results) {
         def serializer = new TestResultSerializer(tmp.createDir("results"))
         serializer.write(results)
@@ -16,6 +16,7 @@
 
 package org.gradle.api.internal.tasks.testing.processors
 
+import org.gradle.api.internal.tasks.testing.DefaultTestClassRunInfo
 import org.gradle.api.internal.tasks.testing.TestClassProcessor
 import org.gradle.api.internal.tasks.testing.TestClassRunInfo
 import org.gradle.api.internal.tasks.testing.TestResultProcessor
@@ -202,4 +203,42 @@ class MaxNParallelTestClassProcessorTest extends Specification {
         1 * processor1.stopNow()
         1 * processor2.stopNow()
     }
+
+    def assignsTestClassesToProcessorWithLeastEstimatedWork() {
+        def estimates = new TestClassDurationEstimates([Long: 40_000L, Short1: 1_000L, Short2: 1_000L, Short3: 1_000L])
+        def processor = new MaxNParallelTestClassProcessor(2, factory, actorFactory, estimates)
+        TestClassProcessor processor1 = Mock()
+        TestClassProcessor processor2 = Mock()
+        TestClassProcessor asyncProcessor1 = Mock()
+        TestClassProcessor asyncProcessor2 = Mock()
+        Actor actor1 = Mock()
+        Actor actor2 = Mock()
+
+        1 * actorFactory.createActor(resultProcessor) >> resultProcessorActor
+        1 * resultProcessorActor.getProxy(TestResultProcessor) >> asyncResultProcessor
+        processor.startProcessing(resultProcessor)
+
+        when:
+        processor.processTestClass(new DefaultTestClassRunInfo('Long'))
+        processor.processTestClass(new DefaultTestClassRunInfo('Short1'))
+
+        then:
+        1 * factory.create() >> processor1
+        1 * actorFactory.createActor(processor1) >> actor1
+        1 * actor1.getProxy(TestClassProcessor) >> asyncProcessor1
+        1 * asyncProcessor1.processTestClass(new DefaultTestClassRunInfo('Long'))
+        1 * factory.create() >> processor2
+        1 * actorFactory.createActor(processor2) >> actor2
+        1 * actor2.getProxy(TestClassProcessor) >> asyncProcessor2
+        1 * asyncProcessor2.processTestClass(new DefaultTestClassRunInfo('Short1'))
+
+        when:
+        processor.processTestClass(new DefaultTestClassRunInfo('Short2'))
+        processor.processTestClass(new DefaultTestClassRunInfo('Short3'))
+
+        then:
+        1 * asyncProcessor2.processTestClass(new DefaultTestClassRunInfo('Short2'))
+        1 * asyncProcessor2.processTestClass(new DefaultTestClassRunInfo('Short3'))
+        0 * asyncProcessor1.processTestClass(_)
+    }
 }
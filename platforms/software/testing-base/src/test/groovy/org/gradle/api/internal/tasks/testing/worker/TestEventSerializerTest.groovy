@@ -57,6 +57,17 @@ class TestEventSerializerTest extends SerializerSpec {
         result == id
     }
 
+    def "serializes CompositeId of a typical test compactly"() {
+        def id = new CompositeIdGenerator.CompositeId(3L, 12345L)
+
+        when:
+        def bytes = toBytes(id, serializer.build(CompositeIdGenerator.CompositeId))
+
+        then:
+        bytes.length == 3
+        fromBytes(bytes, serializer.build(CompositeIdGenerator.CompositeId)) == id
+    }
+
     def "serializes DefaultTestSuiteDescriptor"() {
         def id = new CompositeIdGenerator.CompositeId(1L, 2L)
         def descriptor = new DefaultTestSuiteDescriptor(id, "some-test")
@@ -39,6 +39,9 @@
 import org.gradle.caching.local.internal.DirectoryBuildCacheFileStoreFactory;
 import org.gradle.caching.local.internal.DirectoryBuildCacheServiceFactory;
 import org.gradle.internal.SystemProperties;
+import org.gradle.internal.concurrent.ExecutorFactory;
+import org.gradle.internal.concurrent.ManagedExecutor;
+import org.gradle.internal.concurrent.Stoppable;
 import org.gradle.internal.file.BufferProvider;
 import org.gradle.internal.file.Deleter;
 import org.gradle.internal.file.FileException;
@@ -141,10 +144,16 @@ BuildCacheEntryPacker createResultPacker(
                 FileSystem fileSystem,
                 StreamHasher fileHasher,
                 StringInterner stringInterner,
-                BufferProvider bufferProvider
+                BufferProvider bufferProvider,
+                ExecutorFactory executorFactory
             ) {
-                return new GZipBuildCacheEntryPacker(
-                    new TarBuildCacheEntryPacker(fileSystemSupport, new FilePermissionsAccessAdapter(fileSystem), fileHasher, stringInterner, bufferProvider));
+                TarBuildCacheEntryPacker tarPacker = new TarBuildCacheEntryPacker(fileSystemSupport, new FilePermissionsAccessAdapter(fileSystem), fileHasher, stringInterner, bufferProvider);
+                if (!Boolean.getBoolean(GZipBuildCacheEntryPacker.PARALLEL_COMPRESSION_PROPERTY)) {
+                    return new GZipBuildCacheEntryPacker(tarPacker);
+                }
+                return new ParallelGZipBuildCacheEntryPacker(
+                    tarPacker,
+                    executorFactory.create("Build cache entry compression", Runtime.getRuntime().availableProcessors()));
             }
 
             BuildCacheController createBuildCacheController(
@@ -183,7 +192,8 @@ BuildCacheControllerFactory createBuildCacheControllerFactory(
                 TemporaryFileProvider temporaryFileProvider,
                 BuildCacheEntryPacker packer,
                 OriginMetadataFactory originMetadataFactory,
-                StringInterner stringInterner
+                StringInterner stringInterner,
+                ExecutorFactory executorFactory
             ) {
                 return new DefaultBuildCacheControllerFactory(
                     startParameter,
@@ -192,12 +202,30 @@ BuildCacheControllerFactory createBuildCacheControllerFactory(
                     originMetadataFactory,
                     stringInterner,
                     temporaryFileProvider,
-                    packer
+                    packer,
+                    executorFactory
                 );
             }
         });
     }
 
+    /**
+     * Compresses entries in parallel on an executor owned by the packer, which is stopped with the services of the build.
+     */
+    private static final class ParallelGZipBuildCacheEntryPacker extends GZipBuildCacheEntryPacker implements Stoppable {
+        private final ManagedExecutor compressionExecutor;
+
+        ParallelGZipBuildCacheEntryPacker(BuildCacheEntryPacker delegate, ManagedExecutor compressionExecutor) {
+            super(delegate, compressionExecutor);
+            this.compressionExecutor = compressionExecutor;
+        }
+
+        @Override
+        public void stop() {
+            compressionExecutor.stop();
+        }
+    }
+
     private static final class FilePermissionsAccessAdapter implements FilePermissionAccess {
 
         private final FileSystem fileSystem;
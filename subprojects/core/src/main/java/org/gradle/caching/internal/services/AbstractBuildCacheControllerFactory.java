@@ -32,6 +32,8 @@
 import org.gradle.caching.internal.origin.OriginMetadataFactory;
 import org.gradle.caching.local.DirectoryBuildCache;
 import org.gradle.internal.Cast;
+import org.gradle.internal.hash.HashFunction;
+import org.gradle.internal.hash.Hashing;
 import org.gradle.internal.instantiation.InstanceGenerator;
 import org.gradle.internal.operations.BuildOperationContext;
 import org.gradle.internal.operations.BuildOperationDescriptor;
@@ -54,6 +56,7 @@
     protected final StringInterner stringInterner;
     protected final BuildOperationExecutor buildOperationExecutor;
     protected final OriginMetadataFactory originMetadataFactory;
+    private final HashFunction contentHashFunction;
 
     public enum BuildCacheMode {
         ENABLED, DISABLED
@@ -67,12 +70,14 @@ public AbstractBuildCacheControllerFactory(
         StartParameter startParameter,
         BuildOperationExecutor buildOperationExecutor,
         OriginMetadataFactory originMetadataFactory,
-        StringInterner stringInterner
+        StringInterner stringInterner,
+        HashFunction contentHashFunction
     ) {
         this.startParameter = startParameter;
         this.buildOperationExecutor = buildOperationExecutor;
         this.originMetadataFactory = originMetadataFactory;
         this.stringInterner = stringInterner;
+        this.contentHashFunction = contentHashFunction;
     }
 
     abstract protected BuildCacheController doCreateController(
@@ -105,6 +110,13 @@ public BuildCacheController call(BuildOperationContext context) {
                     LOGGER.warn("Remote build cache is disabled when running with --offline.");
                 }
 
+                if (remoteEnabled && contentHashFunction != Hashing.defaultFunction()) {
+                    // Cache keys are only as collision resistant as the file hashes they are built from,
+                    // so keys built from non-cryptographic file hashes must not be used with a shared cache
+                    remoteEnabled = false;
+                    LOGGER.warn("Remote build cache is disabled when file contents are hashed with {}.", contentHashFunction.getAlgorithm());
+                }
+
                 DescribedBuildCacheService<DirectoryBuildCache, L> localDescribedService = localEnabled
                     ? createBuildCacheService(local, BuildCacheServiceRole.LOCAL, buildIdentityPath, buildCacheConfiguration, instanceGenerator)
                     : null;
@@ -116,7 +128,7 @@ public BuildCacheController call(BuildOperationContext context) {
                 context.setResult(new ResultImpl(
                     true,
                     local.isEnabled(),
-                    remote != null && remote.isEnabled() && remoteAccessMode == RemoteAccessMode.ONLINE,
+                    remoteEnabled,
                     localDescribedService == null ? null : localDescribedService.description,
                     remoteDescribedService == null ? null : remoteDescribedService.description
                 ));
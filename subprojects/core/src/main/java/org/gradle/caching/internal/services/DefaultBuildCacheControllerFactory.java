@@ -29,6 +29,9 @@
 import org.gradle.caching.internal.packaging.BuildCacheEntryPacker;
 import org.gradle.caching.local.DirectoryBuildCache;
 import org.gradle.caching.local.internal.DirectoryBuildCacheService;
+import org.gradle.internal.concurrent.ExecutorFactory;
+import org.gradle.internal.hash.HashFunction;
+import org.gradle.internal.hash.Hashing;
 import org.gradle.internal.operations.BuildOperationExecutor;
 import org.gradle.internal.operations.BuildOperationProgressEventEmitter;
 import org.gradle.util.Path;
@@ -40,6 +43,7 @@ public class DefaultBuildCacheControllerFactory extends AbstractBuildCacheContro
     private final TemporaryFileProvider temporaryFileProvider;
     private final BuildCacheEntryPacker packer;
     private final BuildOperationProgressEventEmitter buildOperationProgressEmitter;
+    private final ExecutorFactory executorFactory;
 
     public DefaultBuildCacheControllerFactory(
         StartParameter startParameter,
@@ -48,17 +52,34 @@ public DefaultBuildCacheControllerFactory(
         OriginMetadataFactory originMetadataFactory,
         StringInterner stringInterner,
         TemporaryFileProvider temporaryFileProvider,
-        BuildCacheEntryPacker packer
+        BuildCacheEntryPacker packer,
+        ExecutorFactory executorFactory
+    ) {
+        this(startParameter, buildOperationExecutor, buildOperationProgressEmitter, originMetadataFactory, stringInterner, temporaryFileProvider, packer, executorFactory, Hashing.contentHashFunction());
+    }
+
+    public DefaultBuildCacheControllerFactory(
+        StartParameter startParameter,
+        BuildOperationExecutor buildOperationExecutor,
+        BuildOperationProgressEventEmitter buildOperationProgressEmitter,
+        OriginMetadataFactory originMetadataFactory,
+        StringInterner stringInterner,
+        TemporaryFileProvider temporaryFileProvider,
+        BuildCacheEntryPacker packer,
+        ExecutorFactory executorFactory,
+        HashFunction contentHashFunction
     ) {
         super(
             startParameter,
             buildOperationExecutor,
             originMetadataFactory,
-            stringInterner
+            stringInterner,
+            contentHashFunction
         );
         this.temporaryFileProvider = temporaryFileProvider;
         this.packer = packer;
         this.buildOperationProgressEmitter = buildOperationProgressEmitter;
+        this.executorFactory = executorFactory;
     }
 
     @Override
@@ -86,7 +107,9 @@ protected BuildCacheController doCreateController(
             !Boolean.getBoolean(REMOTE_CONTINUE_ON_ERROR_PROPERTY),
             packer,
             originMetadataFactory,
-            stringInterner
+            stringInterner,
+            executorFactory,
+            Boolean.getBoolean(ASYNC_REMOTE_STORE_PROPERTY)
         );
     }
 
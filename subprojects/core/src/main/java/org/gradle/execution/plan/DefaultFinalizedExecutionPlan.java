@@ -66,8 +66,13 @@ public int compare(Node node1, Node node2) {
         }
     };
 
+    /**
+     * When set, ready nodes with the longest chain of nodes waiting on them are started first.
+     */
+    public static final String CRITICAL_PATH_FIRST_PROPERTY = "org.gradle.internal.plan.critical-path-first";
+
     private final Set<Node> waitingToStartNodes = new HashSet<>();
-    private final ExecutionQueue readyNodes = new ExecutionQueue();
+    private final ExecutionQueue readyNodes;
     private final List<Throwable> failures = new ArrayList<>();
     private final List<DiagnosticEvent> diagnosticEvents = new ArrayList<>();
     private final String displayName;
@@ -84,6 +89,9 @@ public int compare(Node node1, Node node2) {
     private final Map<Pair<Node, Node>, Boolean> reachableCache = new HashMap<>();
     private final OrdinalNodeAccess ordinalNodeAccess;
     private final Consumer<LocalTaskNode> completionHandler;
+    // Number of nodes on the longest chain from each node to the end of the plan, when starting the critical path first
+    @Nullable
+    private final Map<Node, Integer> criticalPathLengths;
 
     // When true, there may be nodes that are both ready and "selectable", which means their project and resources are able to be locked
     // When false, there are definitely no nodes that are "selectable"
@@ -99,6 +107,7 @@ public DefaultFinalizedExecutionPlan(
         ResourceLockCoordinationService lockCoordinator,
         List<Node> scheduledNodes,
         boolean continueOnFailure,
+        boolean criticalPathFirst,
         QueryableExecutionPlan contents,
         Consumer<LocalTaskNode> completionHandler
     ) {
@@ -110,6 +119,13 @@ public DefaultFinalizedExecutionPlan(
         this.continueOnFailure = continueOnFailure;
         this.contents = contents;
         this.completionHandler = completionHandler;
+        if (criticalPathFirst) {
+            this.criticalPathLengths = criticalPathLengths(scheduledNodes);
+            this.readyNodes = new ExecutionQueue(criticalPathFirst(criticalPathLengths));
+        } else {
+            this.criticalPathLengths = null;
+            this.readyNodes = new ExecutionQueue(NODE_EXECUTION_ORDER);
+        }
 
         SetMultimap<FinalizerGroup, FinalizerGroup> reachableGroups = LinkedHashMultimap.create();
         for (Node node : scheduledNodes) {
@@ -129,6 +145,35 @@ public DefaultFinalizedExecutionPlan(
         lockCoordinator.addLockReleaseListener(resourceUnlockListener);
     }
 
+    /**
+     * Calculates the length of the longest chain of nodes that depend on each node.
+     * The scheduled nodes are ordered so that each node comes before the nodes that depend on it.
+     */
+    private static Map<Node, Integer> criticalPathLengths(List<Node> scheduledNodes) {
+        Map<Node, Integer> lengths = new HashMap<>(scheduledNodes.size());
+        for (int i = scheduledNodes.size() - 1; i >= 0; i--) {
+            Node node = scheduledNodes.get(i);
+            int longestDependentChain = 0;
+            for (Node dependent : node.getDependencyPredecessors()) {
+                longestDependentChain = Math.max(longestDependentChain, lengths.getOrDefault(dependent, 0));
+            }
+            lengths.put(node, longestDependentChain + 1);
+        }
+        return lengths;
+    }
+
+    private static Comparator<Node> criticalPathFirst(Map<Node, Integer> criticalPathLengths) {
+        return (node1, node2) -> {
+            if (node1.isPriority() == node2.isPriority()) {
+                int lengthOrder = Integer.compare(criticalPathLengths.getOrDefault(node2, 0), criticalPathLengths.getOrDefault(node1, 0));
+                if (lengthOrder != 0) {
+                    return lengthOrder;
+                }
+            }
+            return NODE_EXECUTION_ORDER.compare(node1, node2);
+        };
+    }
+
     @Override
     public String getDisplayName() {
         return displayName;
@@ -262,6 +307,9 @@ public Selection<Node> selectNext() {
                     // The node is ready to execute and its pre-execution nodes have not been scheduled, so do this now
                     node.visitPreExecutionNodes(prepareNode -> {
                         prepareNode.setIndex(node.getIndex());
+                        if (criticalPathLengths != null) {
+                            criticalPathLengths.put(prepareNode, criticalPathLengths.getOrDefault(node, 0) + 1);
+                        }
                         prepareNode.require();
                         prepareNode.updateAllDependenciesComplete();
                         node.addDependencySuccessor(prepareNode);
@@ -679,12 +727,16 @@ public boolean allExecutionComplete() {
     }
 
     /**
-     * An ordered queue of nodes, sorted by {@link #NODE_EXECUTION_ORDER}.
+     * An ordered queue of nodes, sorted by {@link #NODE_EXECUTION_ORDER} or by the critical path first.
      */
     static class ExecutionQueue {
-        private final Set<Node> nodes = new TreeSet<>(NODE_EXECUTION_ORDER);
+        private final Set<Node> nodes;
         private Iterator<Node> current;
 
+        ExecutionQueue(Comparator<Node> order) {
+            this.nodes = new TreeSet<>(order);
+        }
+
         public void clear() {
             nodes.clear();
             current = null;
@@ -49,6 +49,7 @@
 import org.objectweb.asm.Opcodes;
 import org.objectweb.asm.Type;
 
+import javax.annotation.Nullable;
 import java.io.Closeable;
 import java.io.File;
 import java.io.IOException;
@@ -66,16 +67,25 @@ public class FileCacheBackedScriptClassCompiler implements ScriptClassCompiler,
     private final GlobalScopedCacheBuilderFactory cacheBuilderFactory;
     private final ClassLoaderHierarchyHasher classLoaderHierarchyHasher;
     private final CachedClasspathTransformer classpathTransformer;
+    private final SharedScriptClassStore sharedStore;
 
     public FileCacheBackedScriptClassCompiler(
             GlobalScopedCacheBuilderFactory cacheBuilderFactory, ScriptCompilationHandler scriptCompilationHandler,
             ProgressLoggerFactory progressLoggerFactory, ClassLoaderHierarchyHasher classLoaderHierarchyHasher,
             CachedClasspathTransformer classpathTransformer) {
+        this(cacheBuilderFactory, scriptCompilationHandler, progressLoggerFactory, classLoaderHierarchyHasher, classpathTransformer, null);
+    }
+
+    public FileCacheBackedScriptClassCompiler(
+            GlobalScopedCacheBuilderFactory cacheBuilderFactory, ScriptCompilationHandler scriptCompilationHandler,
+            ProgressLoggerFactory progressLoggerFactory, ClassLoaderHierarchyHasher classLoaderHierarchyHasher,
+            CachedClasspathTransformer classpathTransformer, @Nullable SharedScriptClassStore sharedStore) {
         this.cacheBuilderFactory = cacheBuilderFactory;
         this.scriptCompilationHandler = scriptCompilationHandler;
         this.progressLoggerFactory = progressLoggerFactory;
         this.classLoaderHierarchyHasher = classLoaderHierarchyHasher;
         this.classpathTransformer = classpathTransformer;
+        this.sharedStore = sharedStore;
     }
 
     @Override
@@ -110,11 +120,12 @@ public <T extends Script, M> CompiledScript<T, M> compile(final ScriptSource sou
         // Both caches can be closed directly after use because:
         // For 1, if the script changes or its compile classpath changes, a different directory will be used
         // For 2, if the script changes, a different cache is used. If the classpath changes, the cache is invalidated, but classes are remapped to 1. anyway so never directly used
+        // The generic script classes do not depend on the location of the script or of the user home, so when a shared store is configured they are copied from there instead of compiled
         final PersistentCache cache = cacheBuilderFactory.createCacheBuilder("scripts/" + key)
             .withDisplayName(dslId + " generic class cache for " + source.getDisplayName())
             .withInitializer(new ProgressReportingInitializer(
                 progressLoggerFactory,
-                new CompileToCrossBuildCacheAction(remapped, classLoader, operation, verifier, scriptBaseClass),
+                new CompileToCrossBuildCacheAction(key, remapped, classLoader, operation, verifier, scriptBaseClass),
                 "Compiling " + source.getShortDisplayName()))
             .open();
         try {
@@ -171,14 +182,16 @@ private File metadataDir(PersistentCache cache) {
     }
 
     private class CompileToCrossBuildCacheAction implements Action<PersistentCache> {
+        private final String key;
         private final Action<? super ClassNode> verifier;
         private final Class<? extends Script> scriptBaseClass;
         private final ClassLoader classLoader;
         private final CompileOperation<?> operation;
         private final ScriptSource source;
 
-        public <T extends Script> CompileToCrossBuildCacheAction(ScriptSource source, ClassLoader classLoader, CompileOperation<?> operation,
+        public <T extends Script> CompileToCrossBuildCacheAction(String key, ScriptSource source, ClassLoader classLoader, CompileOperation<?> operation,
                                                                  Action<? super ClassNode> verifier, Class<T> scriptBaseClass) {
+            this.key = key;
             this.source = source;
             this.classLoader = classLoader;
             this.operation = operation;
@@ -190,6 +203,9 @@ public <T extends Script> CompileToCrossBuildCacheAction(ScriptSource source, Cl
         public void execute(PersistentCache cache) {
             File classesDir = classesDir(cache, operation);
             File metadataDir = metadataDir(cache);
+            if (sharedStore != null && sharedStore.copyTo(key, cache.getBaseDir(), classesDir.getName(), metadataDir.getName())) {
+                return;
+            }
             scriptCompilationHandler.compileToDir(source, classLoader, classesDir, metadataDir, operation, scriptBaseClass, verifier);
         }
     }
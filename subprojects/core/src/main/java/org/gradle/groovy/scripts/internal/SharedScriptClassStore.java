@@ -0,0 +1,69 @@
+/*
+ * Copyright 2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.gradle.groovy.scripts.internal;
+
+import org.gradle.api.UncheckedIOException;
+import org.gradle.util.internal.GFileUtils;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.File;
+
+/**
+ * A read-only store of compiled script classes, which can be shared between Gradle user homes.
+ *
+ * <p>Entries are addressed by the same content based keys as the script cache of a user home, and have the same layout.
+ * So the {@code scripts} cache directory of a user home in which the scripts have been compiled can be used as a store
+ * by other user homes. The store is never written to, and only entries which were completely written are used.</p>
+ */
+public class SharedScriptClassStore {
+    public static final String STORE_DIR_PROPERTY = "org.gradle.internal.scripts.shared-store-dir";
+    private static final Logger LOGGER = LoggerFactory.getLogger(SharedScriptClassStore.class);
+    private static final String COMPLETE_ENTRY_MARKER = "cache.properties";
+
+    private final File storeDir;
+
+    public SharedScriptClassStore(File storeDir) {
+        this.storeDir = storeDir;
+    }
+
+    /**
+     * Copies the given directories of the entry with the given key to the given target directory.
+     *
+     * @return true when the directories were copied, false when the store has no complete entry for the key or the entry could not be copied.
+     */
+    public boolean copyTo(String key, File targetDir, String... dirNames) {
+        File entryDir = new File(storeDir, key);
+        if (!new File(entryDir, COMPLETE_ENTRY_MARKER).isFile()) {
+            return false;
+        }
+        for (String dirName : dirNames) {
+            if (!new File(entryDir, dirName).isDirectory()) {
+                return false;
+            }
+        }
+        try {
+            for (String dirName : dirNames) {
+                GFileUtils.copyDirectory(new File(entryDir, dirName), new File(targetDir, dirName));
+            }
+            return true;
+        } catch (UncheckedIOException e) {
+            LOGGER.warn("Could not copy compiled script classes from {}.", entryDir, e);
+            return false;
+        }
+    }
+}
@@ -123,6 +123,7 @@
 import org.gradle.groovy.scripts.internal.FileCacheBackedScriptClassCompiler;
 import org.gradle.groovy.scripts.internal.ScriptRunnerFactory;
 import org.gradle.groovy.scripts.internal.ScriptSourceListener;
+import org.gradle.groovy.scripts.internal.SharedScriptClassStore;
 import org.gradle.initialization.BuildLoader;
 import org.gradle.initialization.BuildOperationFiringSettingsPreparer;
 import org.gradle.initialization.BuildOperationSettingsProcessor;
@@ -220,6 +221,7 @@
 import org.gradle.tooling.provider.model.internal.BuildScopeToolingModelBuilderRegistryAction;
 import org.gradle.tooling.provider.model.internal.DefaultToolingModelBuilderRegistry;
 
+import java.io.File;
 import java.util.List;
 
 /**
@@ -466,12 +468,14 @@ protected FileCacheBackedScriptClassCompiler createFileCacheBackedScriptClassCom
         CachedClasspathTransformer classpathTransformer,
         ProgressLoggerFactory progressLoggerFactory
     ) {
+        String sharedStoreDir = System.getProperty(SharedScriptClassStore.STORE_DIR_PROPERTY);
         return new FileCacheBackedScriptClassCompiler(
             cacheRepository,
             new BuildOperationBackedScriptCompilationHandler(scriptCompilationHandler, buildOperationExecutor),
             progressLoggerFactory,
             classLoaderHierarchyHasher,
-            classpathTransformer);
+            classpathTransformer,
+            sharedStoreDir == null ? null : new SharedScriptClassStore(new File(sharedStoreDir)));
     }
 
     protected ScriptPluginFactory createScriptPluginFactory(InstantiatorFactory instantiatorFactory, BuildOperationExecutor buildOperationExecutor, UserCodeApplicationContext userCodeApplicationContext, ListenerManager listenerManager) {
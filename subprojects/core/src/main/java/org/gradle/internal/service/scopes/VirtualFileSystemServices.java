@@ -44,10 +44,14 @@
 import org.gradle.cache.scopes.GlobalScopedCacheBuilderFactory;
 import org.gradle.initialization.RootBuildLifecycleListener;
 import org.gradle.internal.build.BuildAddedListener;
+import org.gradle.internal.buildoption.DefaultInternalOptions;
 import org.gradle.internal.buildoption.IntegerInternalOption;
 import org.gradle.internal.buildoption.InternalFlag;
 import org.gradle.internal.buildoption.InternalOptions;
 import org.gradle.internal.classloader.ClasspathHasher;
+import org.gradle.internal.concurrent.ExecutorFactory;
+import org.gradle.internal.concurrent.ManagedExecutor;
+import org.gradle.internal.concurrent.Stoppable;
 import org.gradle.internal.event.ListenerManager;
 import org.gradle.internal.execution.FileCollectionFingerprinterRegistry;
 import org.gradle.internal.execution.FileCollectionSnapshotter;
@@ -68,6 +72,7 @@
 import org.gradle.internal.hash.DefaultFileHasher;
 import org.gradle.internal.hash.FileHasher;
 import org.gradle.internal.hash.HashCode;
+import org.gradle.internal.hash.Hashing;
 import org.gradle.internal.hash.StreamHasher;
 import org.gradle.internal.nativeintegration.NativeCapabilities;
 import org.gradle.internal.nativeintegration.filesystem.FileSystem;
@@ -97,8 +102,12 @@
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import javax.annotation.Nullable;
 import java.io.File;
+import java.util.Collections;
+import java.util.Locale;
 import java.util.Optional;
+import java.util.concurrent.Executor;
 import java.util.function.Predicate;
 
 import static org.gradle.internal.snapshot.CaseSensitivity.CASE_INSENSITIVE;
@@ -118,6 +127,20 @@ public class VirtualFileSystemServices extends AbstractPluginServiceRegistry {
     public static final IntegerInternalOption MAX_HIERARCHIES_TO_WATCH_PROPERTY = new IntegerInternalOption("org.gradle.vfs.watch.hierarchies.max", DEFAULT_MAX_HIERARCHIES_TO_WATCH);
     private static final int FILE_HASHER_MEMORY_CACHE_SIZE = 400000;
 
+    /**
+     * Walks the subdirectories of snapshotted directories concurrently when set.
+     *
+     * Read once by the daemon, as the snapshotting services are shared by all builds.
+     */
+    public static final InternalFlag PARALLEL_SNAPSHOTTING_PROPERTY = new InternalFlag("org.gradle.internal.vfs.parallel-snapshotting");
+
+    /**
+     * File hashes created with different content hash functions are kept in separate caches.
+     */
+    private static final String FILE_HASHES_CACHE_NAME = Hashing.contentHashFunction() == Hashing.defaultFunction()
+        ? "fileHashes"
+        : "fileHashes-" + Hashing.contentHashFunction().getAlgorithm().toLowerCase(Locale.ROOT);
+
     public static boolean isDropVfs(InternalOptions options) {
         return options.getOption(VFS_DROP_PROPERTY).get();
     }
@@ -126,6 +149,10 @@ public static int getMaximumNumberOfWatchedHierarchies(InternalOptions options)
         return options.getOption(MAX_HIERARCHIES_TO_WATCH_PROPERTY).get();
     }
 
+    public static boolean isParallelSnapshotting(InternalOptions options) {
+        return options.getOption(PARALLEL_SNAPSHOTTING_PROPERTY).get();
+    }
+
     @Override
     public void registerGlobalServices(ServiceRegistration registration) {
         registration.addProvider(new GlobalScopeServices());
@@ -154,6 +181,14 @@ DirectorySnapshotterStatistics.Collector createDirectorySnapshotterStatisticsCol
     @VisibleForTesting
     static class GradleUserHomeServices {
 
+        DirectoryWalkerExecutor createDirectoryWalkerExecutor(ExecutorFactory executorFactory) {
+            // These services outlive the builds, so there are no start parameter system properties to consider
+            InternalOptions options = new DefaultInternalOptions(Collections.emptyMap());
+            return new DirectoryWalkerExecutor(isParallelSnapshotting(options)
+                ? executorFactory.create("Directory snapshotting", Runtime.getRuntime().availableProcessors())
+                : null);
+        }
+
         CrossBuildFileHashCache createCrossBuildFileHashCache(GlobalScopedCacheBuilderFactory cacheBuilderFactory, InMemoryCacheDecoratorFactory inMemoryCacheDecoratorFactory) {
             return new CrossBuildFileHashCache(cacheBuilderFactory, inMemoryCacheDecoratorFactory, CrossBuildFileHashCache.Kind.FILE_HASHES);
         }
@@ -166,7 +201,7 @@ FileHasher createCachingFileHasher(
             StreamHasher streamHasher,
             StringInterner stringInterner
         ) {
-            CachingFileHasher fileHasher = new CachingFileHasher(new DefaultFileHasher(streamHasher), fileStore, stringInterner, fileTimeStampInspector, "fileHashes", fileSystem, FILE_HASHER_MEMORY_CACHE_SIZE, statisticsCollector);
+            CachingFileHasher fileHasher = new CachingFileHasher(new DefaultFileHasher(streamHasher), fileStore, stringInterner, fileTimeStampInspector, FILE_HASHES_CACHE_NAME, fileSystem, FILE_HASHER_MEMORY_CACHE_SIZE, statisticsCollector);
             fileTimeStampInspector.attach(fileHasher);
             return fileHasher;
         }
@@ -233,7 +268,8 @@ FileSystemAccess createFileSystemAccess(
             StringInterner stringInterner,
             FileSystemAccess.WriteListener writeListener,
             DirectorySnapshotterStatistics.Collector statisticsCollector,
-            ListenerManager listenerManager
+            ListenerManager listenerManager,
+            DirectoryWalkerExecutor directoryWalkerExecutor
         ) {
             DefaultFileSystemAccess defaultFileSystemAccess = new DefaultFileSystemAccess(
                 hasher,
@@ -242,6 +278,7 @@ FileSystemAccess createFileSystemAccess(
                 virtualFileSystem,
                 writeListener,
                 statisticsCollector,
+                directoryWalkerExecutor.getExecutor(),
                 DirectoryScanner.getDefaultExcludes()
             );
             listenerManager.addListener(defaultFileSystemAccess);
@@ -317,7 +354,7 @@ FileHasher createFileHasher(
             StringInterner stringInterner,
             FileHasherStatistics.Collector statisticsCollector
         ) {
-            CachingFileHasher localHasher = new CachingFileHasher(new DefaultFileHasher(streamHasher), cacheAccess, stringInterner, fileTimeStampInspector, "fileHashes", fileSystem, FILE_HASHER_MEMORY_CACHE_SIZE, statisticsCollector);
+            CachingFileHasher localHasher = new CachingFileHasher(new DefaultFileHasher(streamHasher), cacheAccess, stringInterner, fileTimeStampInspector, FILE_HASHES_CACHE_NAME, fileSystem, FILE_HASHER_MEMORY_CACHE_SIZE, statisticsCollector);
             return new SplitFileHasher(globalHasher, localHasher, globalCacheLocations);
         }
 
@@ -328,7 +365,8 @@ FileSystemAccess createFileSystemAccess(
             StringInterner stringInterner,
             VirtualFileSystem root,
             FileSystemAccess.WriteListener writeListener,
-            DirectorySnapshotterStatistics.Collector statisticsCollector
+            DirectorySnapshotterStatistics.Collector statisticsCollector,
+            DirectoryWalkerExecutor directoryWalkerExecutor
         ) {
             DefaultFileSystemAccess buildSessionsScopedVirtualFileSystem = new DefaultFileSystemAccess(
                 hasher,
@@ -337,6 +375,7 @@ FileSystemAccess createFileSystemAccess(
                 root,
                 writeListener,
                 statisticsCollector,
+                directoryWalkerExecutor.getExecutor(),
                 DirectoryScanner.getDefaultExcludes()
             );
 
@@ -391,4 +430,30 @@ ResourceSnapshotterCacheService createResourceSnapshotterCacheService(
             return new SplitResourceSnapshotterCacheService(globalCache, localCache, globalCacheLocations);
         }
     }
+
+    /**
+     * The executor that subdirectories are walked in when {@link #PARALLEL_SNAPSHOTTING_PROPERTY} is set.
+     * Shared by the file system accesses of all build sessions, and stopped with the Gradle user home services.
+     */
+    @VisibleForTesting
+    static class DirectoryWalkerExecutor implements Stoppable {
+        @Nullable
+        private final ManagedExecutor executor;
+
+        DirectoryWalkerExecutor(@Nullable ManagedExecutor executor) {
+            this.executor = executor;
+        }
+
+        @Nullable
+        Executor getExecutor() {
+            return executor;
+        }
+
+        @Override
+        public void stop() {
+            if (executor != null) {
+                executor.stop();
+            }
+        }
+    }
 }
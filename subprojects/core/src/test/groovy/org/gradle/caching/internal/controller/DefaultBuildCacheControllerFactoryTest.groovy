@@ -35,7 +35,10 @@ import org.gradle.caching.internal.packaging.BuildCacheEntryPacker
 import org.gradle.caching.internal.services.DefaultBuildCacheControllerFactory
 import org.gradle.caching.local.DirectoryBuildCache
 import org.gradle.caching.local.internal.LocalBuildCacheService
+import org.gradle.internal.concurrent.ExecutorFactory
 import org.gradle.internal.hash.HashCode
+import org.gradle.internal.hash.HashFunction
+import org.gradle.internal.hash.Hashing
 import org.gradle.internal.operations.NoOpBuildOperationProgressEventEmitter
 import org.gradle.internal.operations.TestBuildOperationExecutor
 import org.gradle.util.Path
@@ -56,6 +59,7 @@ class DefaultBuildCacheControllerFactoryTest extends Specification {
     ])
 
     boolean emitDebugLogging
+    HashFunction contentHashFunction = Hashing.defaultFunction()
 
     private DefaultBuildCacheController createController() {
         createController(DefaultBuildCacheController)
@@ -72,7 +76,9 @@ class DefaultBuildCacheControllerFactoryTest extends Specification {
             Stub(OriginMetadataFactory),
             Stub(StringInterner),
             Stub(TemporaryFileProvider),
-            Stub(BuildCacheEntryPacker)
+            Stub(BuildCacheEntryPacker),
+            Stub(ExecutorFactory),
+            contentHashFunction
         ).createController(Path.path("test"), config, TestUtil.instantiatorFactory().inject())
         assert controllerType.isInstance(controller)
         controllerType.cast(controller)
@@ -146,6 +152,46 @@ class DefaultBuildCacheControllerFactoryTest extends Specification {
         }
     }
 
+    def "uses remote cache when file contents are hashed with the default hash function"() {
+        config.remote(TestRemoteBuildCache).push = true
+
+        when:
+        def c = createController()
+
+        then:
+        c.remote.canLoad()
+        c.remote.canStore()
+        buildOpResult().remoteEnabled
+    }
+
+    def "does not use remote cache when file contents are hashed with a non-cryptographic hash function"() {
+        contentHashFunction = Hashing.murmur3_128()
+        config.remote(TestRemoteBuildCache).push = true
+
+        when:
+        def c = createController()
+
+        then:
+        c.remote.service == null
+        !c.remote.canLoad()
+        !c.remote.canStore()
+        c.local.service != null
+        c.local.canStore()
+        with(buildOpResult()) {
+            !remoteEnabled
+            remote == null
+        }
+    }
+
+    def "does not create controller when only remote cache is enabled and file contents are hashed with a non-cryptographic hash function"() {
+        contentHashFunction = Hashing.murmur3_128()
+        config.local.enabled = false
+        config.remote(TestRemoteBuildCache)
+
+        expect:
+        createController(NoOpBuildCacheController)
+    }
+
     def "respects debug logging setting - #setting"() {
         when:
         emitDebugLogging = setting
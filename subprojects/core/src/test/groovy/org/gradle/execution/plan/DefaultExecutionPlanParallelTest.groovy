@@ -39,7 +39,9 @@ import org.gradle.test.fixtures.file.TestFile
 import org.gradle.test.precondition.Requires
 import org.gradle.test.preconditions.UnitTestPreconditions
 import org.gradle.util.Path
+import org.gradle.util.SetSystemProperties
 import org.gradle.util.internal.ToBeImplemented
+import org.junit.Rule
 import spock.lang.Issue
 
 import javax.annotation.Nullable
@@ -51,6 +53,9 @@ class DefaultExecutionPlanParallelTest extends AbstractExecutionPlanSpec {
     DefaultExecutionPlan executionPlan
     DefaultFinalizedExecutionPlan finalizedPlan
 
+    @Rule
+    SetSystemProperties systemProperties = new SetSystemProperties()
+
     def accessHierarchies = new ExecutionNodeAccessHierarchies(CASE_SENSITIVE, Stub(Stat))
     def taskNodeFactory = new TaskNodeFactory(project.gradle, Stub(BuildTreeWorkGraphController), nodeValidator, new TestBuildOperationExecutor(), accessHierarchies)
 
@@ -229,6 +234,43 @@ class DefaultExecutionPlanParallelTest extends AbstractExecutionPlanSpec {
         assertAllWorkComplete()
     }
 
+    def "starts ready tasks in plan order by default"() {
+        given:
+        Task a = task("a", type: Async)
+        Task b = task("b", type: Async)
+        Task c = task("c", type: Async, dependsOn: [b])
+        Task d = task("d", type: Async, dependsOn: [c])
+
+        when:
+        addToGraphAndPopulate(a, d)
+
+        then:
+        executionPlan.tasks as List == [a, b, c, d]
+        assertTasksReady(a, b)
+        assertTaskReady(c)
+        assertTaskReadyAndNoMoreToStart(d)
+        assertAllWorkComplete()
+    }
+
+    def "starts ready tasks on the critical path first when enabled"() {
+        given:
+        System.setProperty(DefaultFinalizedExecutionPlan.CRITICAL_PATH_FIRST_PROPERTY, "true")
+        Task a = task("a", type: Async)
+        Task b = task("b", type: Async)
+        Task c = task("c", type: Async, dependsOn: [b])
+        Task d = task("d", type: Async, dependsOn: [c])
+
+        when:
+        addToGraphAndPopulate(a, d)
+
+        then:
+        executionPlan.tasks as List == [a, b, c, d]
+        assertTasksReady(b, a)
+        assertTaskReady(c)
+        assertTaskReadyAndNoMoreToStart(d)
+        assertAllWorkComplete()
+    }
+
     def "finalizer and its dependencies run after the last task to be finalized"() {
         given:
         Task finalizerDep = task("finalizerDep", type: Async)
@@ -0,0 +1,70 @@
+/*
+ * Copyright 2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.gradle.groovy.scripts.internal
+
+import org.gradle.test.fixtures.file.TestNameTestDirectoryProvider
+import org.junit.Rule
+import spock.lang.Specification
+
+class SharedScriptClassStoreTest extends Specification {
+    @Rule
+    TestNameTestDirectoryProvider tmpDir = new TestNameTestDirectoryProvider(getClass())
+
+    def storeDir = tmpDir.createDir("store")
+    def targetDir = tmpDir.createDir("target")
+    def store = new SharedScriptClassStore(storeDir)
+
+    def "copies the directories of a complete entry"() {
+        given:
+        storeDir.file("key/cp_proj/_BuildScript_.class").text = "classes"
+        storeDir.file("key/metadata/metadata.bin").text = "metadata"
+        storeDir.file("key/cache.properties").createFile()
+        storeDir.file("key/scripts.lock").createFile()
+
+        expect:
+        store.copyTo("key", targetDir, "cp_proj", "metadata")
+        targetDir.file("cp_proj/_BuildScript_.class").text == "classes"
+        targetDir.file("metadata/metadata.bin").text == "metadata"
+        !targetDir.file("cache.properties").exists()
+        !targetDir.file("scripts.lock").exists()
+    }
+
+    def "does not use an entry that was not completely written"() {
+        given:
+        storeDir.file("key/cp_proj/_BuildScript_.class").text = "classes"
+        storeDir.file("key/metadata/metadata.bin").text = "metadata"
+
+        expect:
+        !store.copyTo("key", targetDir, "cp_proj", "metadata")
+        targetDir.list().length == 0
+    }
+
+    def "does not use an entry with missing directories"() {
+        given:
+        storeDir.file("key/cp_proj/_BuildScript_.class").text = "classes"
+        storeDir.file("key/cache.properties").createFile()
+
+        expect:
+        !store.copyTo("key", targetDir, "cp_proj", "metadata")
+        targetDir.list().length == 0
+    }
+
+    def "does not use a missing entry"() {
+        expect:
+        !store.copyTo("key", targetDir, "cp_proj", "metadata")
+    }
+}